@@ -0,0 +1,102 @@
+package benchmarks;
+
+import controllers.ai.AI_Elagage;
+import gamecore.Coords;
+import gamecore.GomokuBoard;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opérations du plateau : détection de victoire, copie, génération et jeu des coups.
+ * Chaque opération est appliquée à toutes les positions du corpus de la densité choisie.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BoardBenchmark
+{
+	@Param({"sparse", "mid", "dense"})
+	public String density;
+
+	@Param({"15", "19"})
+	public int boardSize;
+
+	private GomokuBoard[] boards;
+	private final AI_Elagage ai = new AI_Elagage();
+
+	@Setup
+	public void setup()
+	{
+		boards = BoardCorpus.positions(density, boardSize);
+	}
+
+	@Benchmark
+	public void getWinnerState(Blackhole blackhole)
+	{
+		for (GomokuBoard board : boards)
+		{
+			blackhole.consume(board.getWinnerState());
+		}
+	}
+
+	@Benchmark
+	public void getWinnerStateAfter(Blackhole blackhole)
+	{
+		for (GomokuBoard board : boards)
+		{
+			blackhole.consume(board.getWinnerStateAfter(board.getLastMove()));
+		}
+	}
+
+	@Benchmark
+	public void cloneBoard(Blackhole blackhole)
+	{
+		for (GomokuBoard board : boards)
+		{
+			blackhole.consume(board.clone());
+		}
+	}
+
+	@Benchmark
+	public void getAvailableMoves(Blackhole blackhole)
+	{
+		for (GomokuBoard board : boards)
+		{
+			blackhole.consume(ai.getAvailableMoves(board));
+		}
+	}
+
+	/**
+	 * Jouer puis annuler chaque coup candidat, comme le fait la recherche à chaque noeud
+	 */
+	@Benchmark
+	public void playUndoCandidates(Blackhole blackhole)
+	{
+		for (GomokuBoard board : boards)
+		{
+			byte code = board.getStoneCount() % 2 == 0 ? GomokuBoard.WHITE : GomokuBoard.BLACK;
+			for (Coords move : board.getCandidateMoves())
+			{
+				int cell = board.index(move.column, move.row);
+				board.play(cell, code);
+				blackhole.consume(board.isWinningMove(cell));
+				board.undo();
+			}
+		}
+	}
+}
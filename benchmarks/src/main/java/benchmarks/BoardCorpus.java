@@ -0,0 +1,79 @@
+package benchmarks;
+
+import gamecore.Coords;
+import gamecore.GomokuBoard;
+import gamecore.enums.TileState;
+
+/**
+ * Corpus fixe de positions pour les benchmarks, tirées de parties de l'IA Elagage contre elle-même
+ * (ouverture aléatoire de 3 coups, 40 ms par coup).
+ * <p>
+ * Chaque partie donne une position par densité, en rejouant ses premiers coups : les positions sont donc
+ * réalistes (alignements bloqués, menaces en cours) et identiques d'une exécution à l'autre.
+ * Sur un plateau plus grand que 15x15, les parties sont rejouées au centre du plateau.
+ */
+public final class BoardCorpus
+{
+	/**
+	 * Nombre de coups rejoués pour chaque densité de plateau
+	 */
+	public static final int SPARSE_MOVES = 10;
+	public static final int MID_MOVES = 30;
+	public static final int DENSE_MOVES = 50;
+
+	/**
+	 * Parties enregistrées, coups {@code colonne,ligne} séparés par des espaces, les blancs jouant en premier
+	 */
+	private static final String[] GAMES = {
+			"8,9 9,5 8,7 8,5 8,8 8,10 6,5 9,8 7,7 7,5 10,5 9,7 9,6 7,8 9,9 6,6 7,9 6,9 10,10 11,11 11,4 12,3 5,7 8,6 11,9 10,9 6,4 6,7 9,11 12,8 6,8 8,4 4,6 3,5 7,13 8,12 10,6 7,6 9,4 9,3 10,2 8,3 8,2 10,3 11,3 7,3 6,3 6,2 5,1 4,4 5,3 7,2 7,4 8,11 5,8 7,12 9,10 9,12 6,12 8,14",
+			"6,5 6,9 6,8 6,6 5,6 4,7 5,8 8,8 5,7 5,5 7,7 5,9 7,9 4,6 7,8 7,6 4,8 3,8 6,7 8,9 8,10 9,11 7,10 7,11 6,10 5,10 4,5 3,4 8,7 9,7 4,9 3,7 6,4 8,11 3,10 2,11 10,11 9,10 5,11 9,9 9,8 4,12 10,9 2,8 1,9 2,9 2,10 1,10 0,11 9,12 9,13 3,6 3,5 3,12 3,9 1,11 4,13 5,12 6,12 1,14",
+			"7,6 5,5 6,5 5,4 5,6 5,3 6,6 4,6 8,6 9,6 5,2 6,4 7,3 7,4 8,4 4,4 3,4 6,2 3,5 3,7 2,8 8,0 7,1 8,5 10,7 4,5 4,3 6,1 2,5 1,6 6,3 2,7 4,8 5,7 4,7 3,8 4,9 3,6 1,8 3,1 7,5 4,2 2,0 0,6 2,6 3,3 4,10 4,11 9,3 10,2 5,11 3,9 3,10 2,4 1,5 5,1 6,0 1,1 2,2 7,7",
+			"8,6 5,9 6,6 5,6 9,6 10,6 8,5 5,7 5,8 7,9 7,4 10,7 8,4 8,7 7,6 6,7 7,7 7,5 5,5 4,4 9,4 10,4 8,3 8,2 8,8 9,9 6,4 5,4 6,3 5,2 6,2 6,5 10,3 11,2 6,1 6,0 10,5 7,2 11,6 12,7 9,3 7,3 11,3 12,3 9,2 9,5 9,1 9,0 10,1 11,0 8,1 7,1 7,0 11,4 11,1 12,1 10,2 12,0 12,4 8,0",
+			"5,8 9,7 7,7 8,6 7,5 7,6 6,6 8,8 8,4 5,7 5,5 10,6 7,9 8,7 8,5 6,5 9,8 11,5 12,4 5,4 4,3 9,6 11,6 8,9 8,10 10,5 4,4 3,3 11,4 10,4 10,7 12,6 9,3 10,2 10,3 13,7 14,8 12,5 13,5 11,3 4,5 4,6 9,11 12,2 9,5 13,1 14,0 10,12 7,8 11,2 9,2 13,2 14,2 8,1 7,3 3,5 2,4 3,4 6,2 5,1",
+	};
+
+	private BoardCorpus()
+	{
+	}
+
+	/**
+	 * Obtenir les positions du corpus pour une densité
+	 *
+	 * @param density Densité : {@code sparse}, {@code mid} ou {@code dense}
+	 * @param boardSize Taille du plateau, au moins 15
+	 * @return Une position par partie enregistrée
+	 */
+	public static GomokuBoard[] positions(String density, int boardSize)
+	{
+		int moves = switch (density)
+		{
+			case "sparse" -> SPARSE_MOVES;
+			case "mid" -> MID_MOVES;
+			case "dense" -> DENSE_MOVES;
+			default -> throw new IllegalArgumentException("Densité inconnue : " + density);
+		};
+
+		GomokuBoard[] boards = new GomokuBoard[GAMES.length];
+		for (int i = 0; i < GAMES.length; i++)
+		{
+			boards[i] = replay(GAMES[i], moves, boardSize);
+		}
+		return boards;
+	}
+
+	/**
+	 * Rejouer les premiers coups d'une partie enregistrée
+	 */
+	private static GomokuBoard replay(String game, int moveCount, int boardSize)
+	{
+		GomokuBoard board = new GomokuBoard(boardSize);
+		int offset = (boardSize - GomokuBoard.DEFAULT_SIZE) / 2;
+		String[] moves = game.split(" ");
+		for (int i = 0; i < moveCount; i++)
+		{
+			String[] coords = moves[i].split(",");
+			board.set(new Coords(offset + Integer.parseInt(coords[0]), offset + Integer.parseInt(coords[1])), i % 2 == 0 ? TileState.White : TileState.Black);
+		}
+		return board;
+	}
+}
@@ -0,0 +1,116 @@
+package benchmarks;
+
+import controllers.ai.AI_Elagage;
+import controllers.ai.BatchEvaluator;
+import controllers.ai.IncrementalEvaluator;
+import gamecore.GomokuBoard;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluation des positions : évaluation complète d'un plateau, mise à jour incrémentale
+ * de l'évaluation pour chaque coup candidat (ce que coûte une feuille de la recherche),
+ * et évaluation par lots, dont le score est en positions par seconde
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class EvaluationBenchmark
+{
+	@Param({"sparse", "mid", "dense"})
+	public String density;
+
+	@Param({"15", "19"})
+	public int boardSize;
+
+	private GomokuBoard[] boards;
+	private IncrementalEvaluator[] evaluators;
+	private final AI_Elagage ai = new AI_Elagage();
+
+	/**
+	 * Lot de BATCH_SIZE positions, les positions du corpus répétées
+	 */
+	private static final int BATCH_SIZE = 1024;
+	private BatchEvaluator batch;
+	private final int[] batchScores = new int[BATCH_SIZE];
+
+	@Setup
+	public void setup()
+	{
+		boards = BoardCorpus.positions(density, boardSize);
+		evaluators = new IncrementalEvaluator[boards.length];
+		for (int i = 0; i < boards.length; i++)
+		{
+			evaluators[i] = new IncrementalEvaluator();
+			evaluators[i].reset(boards[i]);
+		}
+
+		batch = new BatchEvaluator(boardSize, BATCH_SIZE);
+		for (int i = 0; i < BATCH_SIZE; i++)
+		{
+			batch.add(boards[i % boards.length]);
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH_SIZE)
+	public int[] batchEvaluate()
+	{
+		batch.evaluate(batchScores);
+		return batchScores;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH_SIZE)
+	public int[] batchEvaluateScalar()
+	{
+		batch.evaluateScalar(0, BATCH_SIZE, batchScores);
+		return batchScores;
+	}
+
+	@Benchmark
+	public void evaluateBoard(Blackhole blackhole)
+	{
+		for (GomokuBoard board : boards)
+		{
+			blackhole.consume(ai.evaluateBoard(board));
+		}
+	}
+
+	@Benchmark
+	public void incrementalPlayUndo(Blackhole blackhole)
+	{
+		int[] candidates = new int[boardSize * boardSize];
+		for (int i = 0; i < boards.length; i++)
+		{
+			GomokuBoard board = boards[i];
+			IncrementalEvaluator evaluator = evaluators[i];
+			byte code = board.getStoneCount() % 2 == 0 ? GomokuBoard.WHITE : GomokuBoard.BLACK;
+			int count = board.getCandidates(candidates);
+			for (int c = 0; c < count; c++)
+			{
+				board.play(candidates[c], code);
+				evaluator.play(board, candidates[c]);
+				blackhole.consume(evaluator.getScore());
+				evaluator.undo();
+				board.undo();
+			}
+		}
+	}
+}
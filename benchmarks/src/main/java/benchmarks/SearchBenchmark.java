@@ -0,0 +1,68 @@
+package benchmarks;
+
+import controllers.ai.AI_Elagage;
+import gamecore.GomokuBoard;
+import gamecore.enums.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recherche alpha-bêta à profondeur fixe sur les positions du corpus.
+ * La table de transposition est vidée avant chaque appel pour mesurer une recherche complète
+ * et non la relecture de la précédente.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark
+{
+	@Param({"sparse", "mid", "dense"})
+	public String density;
+
+	@Param({"15", "19"})
+	public int boardSize;
+
+	@Param({"2", "3"})
+	public int depth;
+
+	private GomokuBoard[] boards;
+	private final AI_Elagage ai = new AI_Elagage();
+
+	@Setup
+	public void setup()
+	{
+		boards = BoardCorpus.positions(density, boardSize);
+	}
+
+	@Setup(Level.Invocation)
+	public void newGame()
+	{
+		ai.newGame();
+	}
+
+	@Benchmark
+	public void minimaxAlphaBeta(Blackhole blackhole)
+	{
+		for (GomokuBoard board : boards)
+		{
+			boolean whiteToMove = board.getStoneCount() % 2 == 0;
+			blackhole.consume(ai.minimaxAlphaBeta(board, depth, whiteToMove, whiteToMove ? Player.White : Player.Black, Integer.MIN_VALUE, Integer.MAX_VALUE));
+		}
+	}
+}
@@ -1,163 +1,279 @@
-/*
- * Code created by Thomas Cohen (Esisar)
- * open source code
- * */
-
-import controllers.HumanPlayer;
-import controllers.PlayerController;
-import controllers.ai.AI_Elagage;
-import controllers.ai.AI_Random;
-import gamecore.Coords;
-import gamecore.GomokuBoard;
-import gamecore.enums.Player;
-import gamecore.enums.TileState;
-import gamecore.enums.WinnerState;
-
-import java.util.Scanner;
-
-public class Game
-{
-
-	/**
-	 * Lancer une partie entre deux joueurs de Gomoku
-	 *
-	 * @param player1 Joueur 1
-	 * @param player2 Joueur 2
-	 * @return Vainqueur de la partie
-	 */
-	public static WinnerState startMatch(GomokuBoard board, PlayerController player1, PlayerController player2)
-	{
-		WinnerState winnerState;
-		Player currentPlayer = Player.White;
-
-		int roundCount = 0;
-
-		long player1TotalPlayTime = 0;
-		long player2TotalPlayTime = 0;
-		long player1LongestPlayTime = 0;
-		long player2LongestPlayTime = 0;
-		long player1ShortestPlayTime = Long.MAX_VALUE;
-		long player2ShortestPlayTime = Long.MAX_VALUE;
-
-		while ((winnerState = board.getWinnerState()) == WinnerState.None)
-		{ // Tant que la partie n'est pas finie
-			roundCount++;
-
-			System.out.println("Tour " + roundCount + ": " + (currentPlayer == Player.White ? "BLANC" : "NOIR"));
-			long startTime = System.currentTimeMillis();
-			Coords move = currentPlayer == Player.White ? player1.play(board, Player.White) : player2.play(board, Player.Black); // Obtenir le coup du joueur
-			long moveDuration = System.currentTimeMillis() - startTime;
-
-			if (currentPlayer == Player.White)
-			{
-				player1TotalPlayTime += moveDuration;
-				player1LongestPlayTime = Math.max(player1LongestPlayTime, moveDuration);
-				player1ShortestPlayTime = Math.min(player1ShortestPlayTime, moveDuration);
-			}
-			else
-			{
-				player2TotalPlayTime += moveDuration;
-				player2LongestPlayTime = Math.max(player2LongestPlayTime, moveDuration);
-				player2ShortestPlayTime = Math.min(player2ShortestPlayTime, moveDuration);
-			}
-			System.out.println(move);
-			board.set(move, currentPlayer == Player.White ? TileState.White : TileState.Black); // Jouer le coup
-
-			System.out.println("Ligne: " + move.row);
-			System.out.println("Colonne: " + move.column);
-			System.out.println();
-			board.print();
-			System.out.println();
-
-			currentPlayer = currentPlayer == Player.White ? Player.Black : Player.White; // Changer de joueur
-		}
-
-		if (winnerState == WinnerState.Tie) System.out.println("Égalité !");
-		else System.out.println("Vainqueur: " + (winnerState == WinnerState.White ? "Blanc" : "Noir"));
-
-		double movePerPlayer = (double) (roundCount / 2);
-		int player1MoveCount = (int) Math.ceil(movePerPlayer);
-		int player2MoveCount = (int) Math.floor(movePerPlayer);
-
-		System.out.println("\nStatistiques :");
-		System.out.println("Blanc: " + player1MoveCount + " coups, " + (player1TotalPlayTime / player1MoveCount) + " ms/coup, " + player1LongestPlayTime + " ms (max), " + player1ShortestPlayTime + " ms (min)");
-		System.out.println("Noir: " + player2MoveCount + " coups, " + (player2TotalPlayTime / player2MoveCount) + " ms/coup, " + player2LongestPlayTime + " ms (max), " + player2ShortestPlayTime + " ms (min)");
-
-		return winnerState;
-	}
-
-	public static void main(String[] args)
-	{
-		GomokuBoard board = new GomokuBoard();
-		System.out.println("Selection du mode de jeu : \n- Humain VS Humain (1) \n- Humain VS IA (2) \n- IA VS Humain (3) \n- IA VS IA (4)" +
-				"\n- Humain VS IA Elagage (5) \n- IA Elagage VS IA Elagage (6) \n- IA Elagage VS IA Random (7)");
-
-//		Test du plateau
-//		board.set(1,1,TileState.White);
-//		board.set(1,2,TileState.White);
-//		board.set(1,3,TileState.White);
-//		board.set(1,4,TileState.White);
-//		board.set(1,5,TileState.White);
-//		board.set(2,1,TileState.Black);
-//		board.set(2,2,TileState.White);
-//		board.set(2,3,TileState.Black);
-//		board.set(2,4,TileState.Black);
-//		board.set(2,5,TileState.Black);
-
-		Scanner sc = new Scanner(System.in);
-		int str = sc.nextInt();
-		switch (str)
-		{
-			case 1:
-				startMatch(board, new HumanPlayer(), new HumanPlayer());
-				break;
-
-			case 2:
-				System.out.println("Profondeur calcul IA : ");
-				int depthIA = sc.nextInt();
-				startMatch(board, new HumanPlayer(), new AI_Random(depthIA, Player.Black));
-
-				break;
-
-			case 3:
-				System.out.println("Profondeur calcul IA : ");
-				int depthIA2 = sc.nextInt();
-				startMatch(board, new AI_Random(depthIA2, Player.Black), new HumanPlayer());
-
-				break;
-
-			case 4:
-				System.out.println("Profondeur calcul IA blanche: ");
-				int depthIAWhite = sc.nextInt();
-				System.out.println("Profondeur calcul IA noire: ");
-				int depthIABlack = sc.nextInt();
-				startMatch(board, new AI_Random(depthIAWhite, Player.White), new AI_Random(depthIABlack, Player.Black));
-				break;
-
-			case 5:
-				System.out.println("Profondeur calcul IA : ");
-				int depthIAElag = sc.nextInt();
-				startMatch(board, new HumanPlayer(), new AI_Elagage(depthIAElag, Player.White));
-				break;
-
-			case 6:
-				System.out.println("Profondeur calcul IA blanche: ");
-				int depthIAElagWhite = sc.nextInt();
-				System.out.println("Profondeur calcul IA noire: ");
-				int depthIAElagBlack = sc.nextInt();
-				startMatch(board, new AI_Elagage(depthIAElagWhite, Player.White), new AI_Elagage(depthIAElagBlack, Player.Black));
-				break;
-
-			case 7:
-				System.out.println("Profondeur calcul IA blanche: ");
-				int depthIAElagVsWhite = sc.nextInt();
-				System.out.println("Profondeur calcul IA noire: ");
-				int depthIARandomVsBlack = sc.nextInt();
-				startMatch(board, new AI_Elagage(depthIAElagVsWhite, Player.White), new AI_Random(depthIARandomVsBlack, Player.Black));
-				break;
-		}
-//            startMatch(new AI_Sweep(2), new AI_Sweep(2)); // Lancer une partie entre deux IA Sweep
-//        startMatch(new AI_Star(3), new AI_Star(3)); // Lancer une partie entre deux IA Star
-		//startMatch(new AI_Star(2), new AI_Sweep(2)); // Lancer une partie entre une IA Sweep et une IA Star
-	}
-}
+/*
+ * Code created by Thomas Cohen (Esisar)
+ * open source code
+ * */
+
+import controllers.HumanPlayer;
+import controllers.PlayerController;
+import controllers.ai.AI_Elagage;
+import controllers.ai.AI_MCTS;
+import controllers.ai.AI_Random;
+import controllers.ai.ConfigurableAI;
+import controllers.ai.OpeningBook;
+import gamecore.Coords;
+import gamecore.GameRecordWriter;
+import gamecore.GomokuBoard;
+import gamecore.enums.Player;
+import gamecore.enums.TileState;
+import gamecore.enums.WinnerState;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Scanner;
+
+public class Game
+{
+
+	/**
+	 * Temps de réflexion d'un joueur au cours d'une partie
+	 */
+	private static class PlayTimes
+	{
+		private int moveCount = 0;
+		private long totalTime = 0;
+		private long longestTime = 0;
+		private long shortestTime = Long.MAX_VALUE;
+
+		void add(long duration)
+		{
+			moveCount++;
+			totalTime += duration;
+			longestTime = Math.max(longestTime, duration);
+			shortestTime = Math.min(shortestTime, duration);
+		}
+
+		@Override
+		public String toString()
+		{
+			if (moveCount == 0) return "0 coups";
+			return moveCount + " coups, " + (totalTime / moveCount) + " ms/coup, " + longestTime + " ms (max), " + shortestTime + " ms (min)";
+		}
+	}
+
+	/**
+	 * Lancer une partie entre deux joueurs de Gomoku
+	 *
+	 * @param player1 Joueur 1
+	 * @param player2 Joueur 2
+	 * @return Vainqueur de la partie
+	 */
+	public static WinnerState startMatch(GomokuBoard board, PlayerController player1, PlayerController player2)
+	{
+		return startMatch(board, player1, player2, null, "");
+	}
+
+	/**
+	 * Lancer une partie entre deux joueurs de Gomoku et l'enregistrer
+	 *
+	 * @param player1 Joueur 1
+	 * @param player2 Joueur 2
+	 * @param recorder Fichier de parties dans lequel ajouter la partie, null pour ne pas l'enregistrer
+	 * @param settings Réglages de la partie, enregistrés avec elle
+	 * @return Vainqueur de la partie
+	 */
+	public static WinnerState startMatch(GomokuBoard board, PlayerController player1, PlayerController player2, GameRecordWriter recorder, String settings)
+	{
+		WinnerState winnerState;
+		int[] moves = new int[board.getCellCount()];
+		int moveCount = 0;
+		Player currentPlayer = Player.White;
+
+		int roundCount = 0;
+
+		PlayTimes player1Times = new PlayTimes();
+		PlayTimes player2Times = new PlayTimes();
+
+		winnerState = board.getWinnerState(); // Le plateau peut déjà contenir des pièces
+		while (winnerState == WinnerState.None)
+		{ // Tant que la partie n'est pas finie
+			roundCount++;
+
+			System.out.println("Tour " + roundCount + ": " + (currentPlayer == Player.White ? "BLANC" : "NOIR"));
+			long startTime = System.currentTimeMillis();
+			Coords move = currentPlayer == Player.White ? player1.play(board, Player.White) : player2.play(board, Player.Black); // Obtenir le coup du joueur
+			long moveDuration = System.currentTimeMillis() - startTime;
+
+			(currentPlayer == Player.White ? player1Times : player2Times).add(moveDuration);
+			System.out.println(move);
+			board.set(move, currentPlayer == Player.White ? TileState.White : TileState.Black); // Jouer le coup
+			moves[moveCount++] = board.index(move.column, move.row);
+			winnerState = board.getWinnerStateAfter(move); // Seules les lignes passant par ce coup peuvent former un alignement
+
+			System.out.println("Ligne: " + move.row);
+			System.out.println("Colonne: " + move.column);
+			System.out.println();
+			board.print();
+			System.out.println();
+
+			currentPlayer = currentPlayer == Player.White ? Player.Black : Player.White; // Changer de joueur
+		}
+
+		player1.gameOver();
+		player2.gameOver();
+
+		if (winnerState == WinnerState.Tie) System.out.println("Égalité !");
+		else System.out.println("Vainqueur: " + (winnerState == WinnerState.White ? "Blanc" : "Noir"));
+
+		System.out.println("\nStatistiques :");
+		System.out.println("Blanc: " + player1Times);
+		System.out.println("Noir: " + player2Times);
+
+		if (recorder != null)
+		{
+			try
+			{
+				recorder.write(player1.toString(), player2.toString(), settings, winnerState, board.getSize(), moves, moveCount);
+				recorder.flush();
+			}
+			catch (IOException e)
+			{
+				System.out.println("Impossible d'enregistrer la partie : " + e.getMessage());
+			}
+		}
+
+		return winnerState;
+	}
+
+	/**
+	 * Donner la bibliothèque d'ouvertures à une IA et afficher les mesures de chacune de ses recherches
+	 * sous forme d'une ligne JSON
+	 *
+	 * @param ai IA
+	 * @param book Bibliothèque d'ouvertures, null si aucune
+	 * @return L'IA
+	 */
+	private static <T extends PlayerController & ConfigurableAI> T configure(T ai, OpeningBook book)
+	{
+		ai.setOpeningBook(book);
+		ai.setStatsListener(stats -> System.out.println(stats.toJson()));
+		return ai;
+	}
+
+	/**
+	 * Demander la taille du plateau jusqu'à obtenir une taille valide. Une ligne vide donne la taille par défaut.
+	 *
+	 * @param sc Entrée standard, dont la fin de la ligne courante n'a pas encore été lue
+	 * @return Taille du plateau, de MIN_SIZE à MAX_SIZE
+	 */
+	private static int readBoardSize(Scanner sc)
+	{
+		sc.nextLine(); // Fin de la ligne du mode de jeu
+		while (true)
+		{
+			System.out.println("Taille du plateau (" + GomokuBoard.MIN_SIZE + " à " + GomokuBoard.MAX_SIZE + ", " + GomokuBoard.DEFAULT_SIZE + " par défaut) : ");
+			String line = sc.nextLine().trim();
+			if (line.isEmpty()) return GomokuBoard.DEFAULT_SIZE;
+			try
+			{
+				int size = Integer.parseInt(line);
+				if (size >= GomokuBoard.MIN_SIZE && size <= GomokuBoard.MAX_SIZE) return size;
+				System.out.println("Cette taille n'est pas possible.");
+			}
+			catch (NumberFormatException e)
+			{
+				System.out.println("Valeur invalide.");
+			}
+		}
+	}
+
+	/**
+	 * @param args Fichier de parties dans lequel enregistrer la partie (facultatif)
+	 */
+	public static void main(String[] args) throws IOException
+	{
+		GameRecordWriter recorder = args.length > 0 ? new GameRecordWriter(Path.of(args[0])) : null;
+		System.out.println("Selection du mode de jeu : \n- Humain VS Humain (1) \n- Humain VS IA (2) \n- IA VS Humain (3) \n- IA VS IA (4)" +
+				"\n- Humain VS IA Elagage (5) \n- IA Elagage VS IA Elagage (6) \n- IA Elagage VS IA Random (7) \n- IA Elagage VS IA MCTS (8)");
+
+//		Test du plateau
+//		board.set(1,1,TileState.White);
+//		board.set(1,2,TileState.White);
+//		board.set(1,3,TileState.White);
+//		board.set(1,4,TileState.White);
+//		board.set(1,5,TileState.White);
+//		board.set(2,1,TileState.Black);
+//		board.set(2,2,TileState.White);
+//		board.set(2,3,TileState.Black);
+//		board.set(2,4,TileState.Black);
+//		board.set(2,5,TileState.Black);
+
+		Scanner sc = new Scanner(System.in);
+		int str = sc.nextInt();
+
+		GomokuBoard board = new GomokuBoard(readBoardSize(sc));
+
+		long timeBudget = 0; // Temps de réflexion maximal par coup des IA, 0 = profondeur fixe sans limite de temps
+		int threads = Runtime.getRuntime().availableProcessors(); // Threads de recherche de l'IA Elagage
+		OpeningBook book = OpeningBook.openDefault(); // Bibliothèque d'ouvertures facultative
+		if (str >= 2)
+		{
+			System.out.println("Temps max par coup IA en ms (0 = sans limite) : ");
+			timeBudget = sc.nextLong();
+		}
+		String settings = "mode=" + str + " size=" + board.getSize() + " timeBudget=" + timeBudget;
+		switch (str)
+		{
+			case 1:
+				startMatch(board, new HumanPlayer(), new HumanPlayer(), recorder, settings);
+				break;
+
+			case 2:
+				System.out.println("Profondeur calcul IA : ");
+				int depthIA = sc.nextInt();
+				startMatch(board, new HumanPlayer(), configure(new AI_Random(depthIA, Player.Black, timeBudget), book), recorder, settings);
+
+				break;
+
+			case 3:
+				System.out.println("Profondeur calcul IA : ");
+				int depthIA2 = sc.nextInt();
+				startMatch(board, configure(new AI_Random(depthIA2, Player.Black, timeBudget), book), new HumanPlayer(), recorder, settings);
+
+				break;
+
+			case 4:
+				System.out.println("Profondeur calcul IA blanche: ");
+				int depthIAWhite = sc.nextInt();
+				System.out.println("Profondeur calcul IA noire: ");
+				int depthIABlack = sc.nextInt();
+				startMatch(board, configure(new AI_Random(depthIAWhite, Player.White, timeBudget), book), configure(new AI_Random(depthIABlack, Player.Black, timeBudget), book), recorder, settings);
+				break;
+
+			case 5:
+				System.out.println("Profondeur calcul IA : ");
+				int depthIAElag = sc.nextInt();
+				AI_Elagage ai = configure(new AI_Elagage(depthIAElag, Player.White, timeBudget, threads), book);
+				ai.setPondering(true); // Réfléchir pendant que l'humain choisit son coup
+				startMatch(board, new HumanPlayer(), ai, recorder, settings);
+				break;
+
+			case 6:
+				System.out.println("Profondeur calcul IA blanche: ");
+				int depthIAElagWhite = sc.nextInt();
+				System.out.println("Profondeur calcul IA noire: ");
+				int depthIAElagBlack = sc.nextInt();
+				startMatch(board, configure(new AI_Elagage(depthIAElagWhite, Player.White, timeBudget, threads), book), configure(new AI_Elagage(depthIAElagBlack, Player.Black, timeBudget, threads), book), recorder, settings);
+				break;
+
+			case 7:
+				System.out.println("Profondeur calcul IA blanche: ");
+				int depthIAElagVsWhite = sc.nextInt();
+				System.out.println("Profondeur calcul IA noire: ");
+				int depthIARandomVsBlack = sc.nextInt();
+				startMatch(board, configure(new AI_Elagage(depthIAElagVsWhite, Player.White, timeBudget, threads), book), configure(new AI_Random(depthIARandomVsBlack, Player.Black, timeBudget), book), recorder, settings);
+				break;
+
+			case 8:
+				System.out.println("Profondeur calcul IA blanche: ");
+				int depthIAElagVsMcts = sc.nextInt();
+				System.out.println("Nombre de simulations IA noire (0 = limitée par le temps) : ");
+				int playoutsIAMcts = sc.nextInt();
+				startMatch(board, configure(new AI_Elagage(depthIAElagVsMcts, Player.White, timeBudget, threads), book), configure(new AI_MCTS(playoutsIAMcts, timeBudget, threads), book), recorder, settings);
+				break;
+		}
+		if (recorder != null) recorder.close();
+//            startMatch(new AI_Sweep(2), new AI_Sweep(2)); // Lancer une partie entre deux IA Sweep
+//        startMatch(new AI_Star(3), new AI_Star(3)); // Lancer une partie entre deux IA Star
+		//startMatch(new AI_Star(2), new AI_Sweep(2)); // Lancer une partie entre une IA Sweep et une IA Star
+	}
+}
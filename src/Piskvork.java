@@ -0,0 +1,413 @@
+import controllers.ai.AI_Elagage;
+import controllers.ai.OpeningBook;
+import controllers.ai.SearchStats;
+import controllers.ai.TranspositionTable;
+import gamecore.Coords;
+import gamecore.GomokuBoard;
+import gamecore.enums.Player;
+
+import java.io.BufferedReader;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Interface texte du protocole Piskvork (Gomocup) : l'IA Elagage lit les commandes du gestionnaire de parties
+ * sur l'entrée standard et répond sur la sortie standard, ce qui permet de la brancher sur Piskvork,
+ * sur les gestionnaires de tournois Gomocup ou sur n'importe quel programme qui parle ce protocole.
+ * <p>
+ * Commandes gérées : START, RECTSTART (plateaux carrés seulement), RESTART, BEGIN, TURN, BOARD, TAKEBACK, INFO, ABOUT et END.
+ * Les coordonnées du protocole sont {@code x,y} avec x la colonne et y la ligne, à partir de 0.
+ * Les parties sont jouées en temps limité : le temps de chaque coup est réparti selon timeout_turn,
+ * timeout_match et time_left (voir {@link TimeControl}), et max_memory limite la taille de la table de transposition.
+ * La règle est celle du Gomoku libre (cinq ou plus) ; les règles exactement cinq et renju ne sont pas gérées.
+ */
+public class Piskvork
+{
+	/**
+	 * Profondeur maximale : en pratique c'est le temps qui arrête la recherche
+	 */
+	private static final int MAX_DEPTH = 30;
+
+	/**
+	 * Part de max_memory donnée à la table de transposition, le reste allant à la JVM et au plateau,
+	 * et bornes de la taille de la table (2^16 à 2^24 entrées, soit 1 Mo à 256 Mo)
+	 */
+	private static final double TRANSPOSITION_MEMORY_SHARE = 0.5;
+	private static final int MIN_TRANSPOSITION_BITS = 16;
+	private static final int MAX_TRANSPOSITION_BITS = 24;
+
+	/**
+	 * Répartition du temps de réflexion sur la partie
+	 */
+	static class TimeControl
+	{
+		/**
+		 * Temps gardé en réserve sur chaque coup pour la lecture de la commande, l'écriture de la réponse
+		 * et les pauses du ramasse-miettes, en millisecondes, plus une part du temps du coup
+		 */
+		private static final long SAFETY_MARGIN_MILLIS = 30;
+		private static final double SAFETY_MARGIN_SHARE = 0.05;
+
+		/**
+		 * Nombre de coups qu'il reste à jouer supposé en début de partie, et minimum supposé ensuite :
+		 * chaque coup reçoit le temps restant divisé par ce nombre
+		 */
+		private static final int EXPECTED_MOVES = 40;
+		private static final int MIN_MOVES_TO_GO = 10;
+
+		/**
+		 * Un coup difficile peut utiliser jusqu'à HARD_LIMIT_FACTOR fois sa part du temps restant,
+		 * mais aucune itération n'est commencée après sa part normale
+		 */
+		private static final int HARD_LIMIT_FACTOR = 3;
+
+		/**
+		 * Temps de réflexion quand timeout_turn vaut 0 (jouer le plus vite possible), en millisecondes
+		 */
+		private static final long FASTEST_MOVE_MILLIS = 10;
+
+		/**
+		 * Valeurs par défaut du protocole en l'absence de commande INFO, en millisecondes (0 = sans limite)
+		 */
+		private long turnTimeout = 30_000;
+		private long matchTimeout = 0;
+
+		/**
+		 * Temps restant dans la partie donné par time_left, -1 s'il n'a pas été donné ; sinon il est déduit
+		 * de timeout_match et du temps déjà utilisé
+		 */
+		private long timeLeft = -1;
+		private long timeUsed = 0;
+		private int movesPlayed = 0;
+
+		void setTurnTimeout(long turnTimeout)
+		{
+			this.turnTimeout = turnTimeout;
+		}
+
+		void setMatchTimeout(long matchTimeout)
+		{
+			this.matchTimeout = matchTimeout;
+		}
+
+		void setTimeLeft(long timeLeft)
+		{
+			this.timeLeft = timeLeft;
+		}
+
+		/**
+		 * Recommencer le décompte pour une nouvelle partie
+		 */
+		void newGame()
+		{
+			timeLeft = -1;
+			timeUsed = 0;
+			movesPlayed = 0;
+		}
+
+		/**
+		 * Calculer le temps de réflexion du prochain coup
+		 *
+		 * @return Temps au-delà duquel aucune itération n'est commencée, puis temps maximal, en millisecondes
+		 */
+		long[] nextMove()
+		{
+			if (turnTimeout == 0) return new long[]{FASTEST_MOVE_MILLIS, FASTEST_MOVE_MILLIS};
+
+			long turnLimit = turnTimeout > 0 ? withMargin(turnTimeout) : Long.MAX_VALUE;
+			long remaining = timeLeft >= 0 ? timeLeft : matchTimeout > 0 ? matchTimeout - timeUsed : -1;
+			if (remaining < 0) return new long[]{turnLimit, turnLimit}; // Seul le temps par coup est limité
+
+			long movesToGo = Math.max(MIN_MOVES_TO_GO, EXPECTED_MOVES - movesPlayed);
+			long share = withMargin(remaining / movesToGo);
+			long hardLimit = Math.min(turnLimit, Math.min(share * HARD_LIMIT_FACTOR, withMargin(remaining / 2)));
+			return new long[]{Math.min(share, hardLimit), hardLimit};
+		}
+
+		/**
+		 * Compter le temps utilisé par un coup
+		 *
+		 * @param millis Temps écoulé entre la commande et la réponse
+		 */
+		void moveDone(long millis)
+		{
+			timeUsed += millis;
+			movesPlayed++;
+			if (timeLeft >= 0) timeLeft = Math.max(0, timeLeft - millis); // Jusqu'au prochain time_left
+		}
+
+		private static long withMargin(long millis)
+		{
+			return Math.max(1, millis - SAFETY_MARGIN_MILLIS - (long) (millis * SAFETY_MARGIN_SHARE));
+		}
+	}
+
+	private final TimeControl timeControl = new TimeControl();
+	private final OpeningBook openingBook = OpeningBook.openDefault();
+	private final int threads;
+	private long maxMemory = 0;
+	private AI_Elagage ai;
+	private GomokuBoard board;
+
+	/**
+	 * Couleur de l'IA : les blancs jouent en premier, les couleurs sont donc fixées par le premier coup de la partie.
+	 * null tant qu'aucun coup n'a été joué.
+	 */
+	private Player ownColor;
+
+	public Piskvork(int threads)
+	{
+		this.threads = threads;
+	}
+
+	/**
+	 * Lire et exécuter les commandes jusqu'à END ou la fin de l'entrée
+	 */
+	public void run(BufferedReader input) throws IOException
+	{
+		String line;
+		while ((line = input.readLine()) != null)
+		{
+			line = line.trim();
+			if (line.isEmpty()) continue;
+
+			long receivedAt = System.nanoTime();
+			int space = line.indexOf(' ');
+			String command = (space == -1 ? line : line.substring(0, space)).toUpperCase();
+			String arguments = space == -1 ? "" : line.substring(space + 1).trim();
+			try
+			{
+				switch (command)
+				{
+					case "START" -> start(Integer.parseInt(arguments));
+					case "RECTSTART" ->
+					{
+						String[] size = arguments.split(",");
+						if (Integer.parseInt(size[0].trim()) != Integer.parseInt(size[1].trim()))
+							throw new IllegalArgumentException("seuls les plateaux carrés sont gérés");
+						start(Integer.parseInt(size[0].trim()));
+					}
+					case "RESTART" -> start(requireBoard().getSize());
+					case "BEGIN" ->
+					{
+						requireBoard();
+						ownColor = Player.White;
+						respond(receivedAt);
+					}
+					case "TURN" ->
+					{
+						playOpponent(parseCell(arguments));
+						respond(receivedAt);
+					}
+					case "BOARD" -> readBoard(input, receivedAt);
+					case "TAKEBACK" ->
+					{
+						int cell = parseCell(arguments);
+						Coords lastMove = requireBoard().getLastMove();
+						if (!lastMove.isDefined() || board.index(lastMove.column, lastMove.row) != cell)
+							throw new IllegalArgumentException("le coup à annuler n'est pas le dernier coup joué");
+						board.undo();
+						System.out.println("OK");
+					}
+					case "INFO" -> info(arguments);
+					case "ABOUT" -> System.out.println("name=\"Elagage\", version=\"1.0\", author=\"Thomas Cohen\", country=\"France\"");
+					case "END" ->
+					{
+						if (ai != null) ai.gameOver();
+						return;
+					}
+					default -> System.out.println("UNKNOWN " + command);
+				}
+			}
+			catch (IllegalArgumentException | IllegalStateException | ArrayIndexOutOfBoundsException e)
+			{
+				System.out.println("ERROR " + line + " : " + e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Commencer une partie sur un plateau vide
+	 */
+	private void start(int size)
+	{
+		clearBoard(size);
+		timeControl.newGame();
+		if (ai != null) ai.newGame();
+		System.out.println("OK");
+	}
+
+	private void clearBoard(int size)
+	{
+		board = new GomokuBoard(size);
+		ownColor = null;
+	}
+
+	private GomokuBoard requireBoard()
+	{
+		if (board == null)
+			throw new IllegalStateException("aucune partie commencée (START)");
+		return board;
+	}
+
+	/**
+	 * Lire des coordonnées {@code x,y} du protocole
+	 *
+	 * @return Index de la case
+	 * @throws IllegalArgumentException Si les coordonnées sont hors du plateau
+	 */
+	private int parseCell(String coords)
+	{
+		String[] parts = coords.split(",");
+		int x = Integer.parseInt(parts[0].trim());
+		int y = Integer.parseInt(parts[1].trim());
+		if (x < 0 || y < 0 || x >= requireBoard().getSize() || y >= board.getSize())
+			throw new IllegalArgumentException("coordonnées hors du plateau");
+		return board.index(x, y);
+	}
+
+	private void playOpponent(int cell)
+	{
+		if (board.getCode(cell) != GomokuBoard.EMPTY)
+			throw new IllegalArgumentException("case déjà occupée");
+		if (ownColor == null) ownColor = Player.Black; // L'adversaire a commencé
+		board.play(cell, ownColor == Player.White ? GomokuBoard.BLACK : GomokuBoard.WHITE);
+	}
+
+	/**
+	 * Lire une position complète (commande BOARD), une ligne {@code x,y,champ} par pièce jusqu'à DONE,
+	 * le champ valant 1 pour une pièce de l'IA et 2 pour une pièce de l'adversaire, puis jouer
+	 */
+	private void readBoard(BufferedReader input, long receivedAt) throws IOException
+	{
+		clearBoard(requireBoard().getSize()); // Le temps de la partie continue de courir
+		int[] cells = new int[board.getCellCount()];
+		boolean[] isOwn = new boolean[board.getCellCount()];
+		int count = 0;
+		int ownCount = 0;
+		String line;
+		while ((line = input.readLine()) != null && !line.trim().equalsIgnoreCase("DONE"))
+		{
+			String[] parts = line.trim().split(",");
+			if (parts.length < 3) continue;
+
+			int cell = parseCell(parts[0] + "," + parts[1]);
+			int field = Integer.parseInt(parts[2].trim());
+			if (field != 1 && field != 2) continue; // 3 : pièce d'une partie continue, ignorée
+
+			cells[count] = cell;
+			isOwn[count++] = field == 1;
+			if (field == 1) ownCount++;
+		}
+
+		// C'est à l'IA de jouer : elle a commencé si chaque joueur a posé autant de pièces
+		ownColor = ownCount * 2 == count ? Player.White : Player.Black;
+		for (int i = 0; i < count; i++)
+		{
+			if (board.getCode(cells[i]) != GomokuBoard.EMPTY) continue;
+			Player color = isOwn[i] ? ownColor : ownColor == Player.White ? Player.Black : Player.White;
+			board.play(cells[i], color == Player.White ? GomokuBoard.WHITE : GomokuBoard.BLACK);
+		}
+		respond(receivedAt);
+	}
+
+	private void info(String arguments)
+	{
+		int space = arguments.indexOf(' ');
+		if (space == -1) return;
+
+		String key = arguments.substring(0, space).toLowerCase();
+		String value = arguments.substring(space + 1).trim();
+		switch (key)
+		{
+			case "timeout_turn" -> timeControl.setTurnTimeout(Long.parseLong(value));
+			case "timeout_match" -> timeControl.setMatchTimeout(Long.parseLong(value));
+			case "time_left" -> timeControl.setTimeLeft(Long.parseLong(value));
+			case "max_memory" ->
+			{
+				long memory = Long.parseLong(value);
+				if (memory != maxMemory) ai = null; // La table de transposition sera recréée à sa nouvelle taille
+				maxMemory = memory;
+			}
+			case "rule" ->
+			{
+				if ((Integer.parseInt(value) & ~2) != 0) System.out.println("MESSAGE Règle non gérée (" + value + ") : Gomoku libre");
+			}
+			default ->
+			{
+				// game_type, evaluate, folder : sans effet
+			}
+		}
+	}
+
+	/**
+	 * Chercher le coup de l'IA, le jouer et l'écrire
+	 *
+	 * @param receivedAt Instant (System.nanoTime) de réception de la commande, début du temps du coup
+	 */
+	private void respond(long receivedAt)
+	{
+		if (ai == null) ai = createAI();
+
+		long[] budget = timeControl.nextMove();
+		long elapsed = (System.nanoTime() - receivedAt) / 1_000_000; // Lecture de la position
+		ai.setTimeBudget(Math.max(1, budget[1] - elapsed), Math.max(1, budget[0] - elapsed));
+
+		int cell = -1;
+		if (!board.isFull())
+		{
+			Coords move = ai.play(board, ownColor);
+			if (board.areCoordsValid(move) && board.getCode(board.index(move.column, move.row)) == GomokuBoard.EMPTY) cell = board.index(move.column, move.row);
+			for (int i = 0; i < board.getCellCount() && cell == -1; i++)
+			{ // Coup de secours : ne jamais répondre une case invalide
+				if (board.getCode(i) == GomokuBoard.EMPTY) cell = i;
+			}
+		}
+		if (cell == -1)
+		{
+			System.out.println("ERROR plateau plein");
+			return;
+		}
+
+		board.play(cell, ownColor == Player.White ? GomokuBoard.WHITE : GomokuBoard.BLACK);
+		timeControl.moveDone((System.nanoTime() - receivedAt) / 1_000_000);
+		System.out.println((cell % board.getSize()) + "," + (cell / board.getSize()));
+	}
+
+	private AI_Elagage createAI()
+	{
+		int tableBits = maxMemory > 0
+				? TranspositionTable.sizeBitsFor((long) (maxMemory * TRANSPOSITION_MEMORY_SHARE), MIN_TRANSPOSITION_BITS, MAX_TRANSPOSITION_BITS)
+				: 20;
+		AI_Elagage created = new AI_Elagage(MAX_DEPTH, null, 0, threads, tableBits);
+		created.setOpeningBook(openingBook);
+		created.setStatsListener(Piskvork::describe);
+		return created;
+	}
+
+	/**
+	 * Résumer une recherche dans une ligne MESSAGE, affichée par le gestionnaire de parties
+	 */
+	private static void describe(SearchStats stats)
+	{
+		System.out.println("MESSAGE profondeur " + stats.getDepthReached() + ", score " + stats.getScore()
+				+ ", " + stats.getNodesVisited() + " noeuds en " + stats.getElapsedNanos() / 1_000_000 + " ms");
+	}
+
+	/**
+	 * Lancer l'interface du protocole sur l'entrée et la sortie standard
+	 *
+	 * @param args Nombre de threads de recherche (facultatif, 1 par défaut : les tournois limitent le plus souvent l'IA à un coeur)
+	 */
+	public static void main(String[] args) throws IOException
+	{
+		int threads = args.length > 0 ? Integer.parseInt(args[0]) : 1;
+		BufferedReader input = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+		System.setOut(new PrintStream(new FileOutputStream(FileDescriptor.out), true, StandardCharsets.UTF_8)); // Réponses dans le même encodage que les commandes
+		new Piskvork(threads).run(input);
+	}
+}
@@ -0,0 +1,397 @@
+import controllers.PlayerController;
+import controllers.ai.AI_Elagage;
+import controllers.ai.AI_MCTS;
+import controllers.ai.AI_Random;
+import controllers.ai.OpeningBook;
+import controllers.ai.SearchCache;
+import gamecore.Coords;
+import gamecore.GameRecordWriter;
+import gamecore.GomokuBoard;
+import gamecore.enums.Player;
+import gamecore.enums.TileState;
+import gamecore.enums.WinnerState;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Tournoi sans affichage entre deux configurations de joueurs : les parties sont jouées en parallèle
+ * sur un pool de threads, puis les victoires, égalités, défaites et temps de réflexion par coup sont résumés.
+ * <p>
+ * Chaque partie utilise de nouveaux joueurs (les IA gardent un état d'un coup sur l'autre et ne sont pas partagées
+ * entre threads), et les couleurs sont alternées d'une partie à l'autre.
+ */
+public class Tournament
+{
+	/**
+	 * Demi-largeur du carré central dans lequel sont tirés les coups d'ouverture aléatoires
+	 */
+	private static final int OPENING_RADIUS = 2;
+
+	/**
+	 * Taille d'un nouveau cache de recherche : 2^22 entrées, soit 64 Mo
+	 */
+	private static final int SEARCH_CACHE_BITS = 22;
+
+	private final Supplier<PlayerController> firstPlayer;
+	private final Supplier<PlayerController> secondPlayer;
+	private final int openingMoves;
+	private final OpeningBook openingBook;
+
+	/**
+	 * Taille du plateau des parties
+	 */
+	private int boardSize = GomokuBoard.DEFAULT_SIZE;
+
+	/**
+	 * Fichier dans lequel chaque partie terminée est ajoutée, null pour ne pas enregistrer les parties
+	 */
+	private GameRecordWriter recorder;
+
+	/**
+	 * Résultat d'une partie
+	 *
+	 * @param winner Vainqueur
+	 * @param firstIsWhite true si le premier joueur avait les blancs
+	 * @param moveCount Nombre de coups joués
+	 * @param firstLatencies Temps de réflexion du premier joueur par coup, en nanosecondes
+	 * @param secondLatencies Temps de réflexion du second joueur par coup, en nanosecondes
+	 */
+	public record GameResult(WinnerState winner, boolean firstIsWhite, int moveCount, long[] firstLatencies, long[] secondLatencies)
+	{
+	}
+
+	/**
+	 * @param firstPlayer Fabrique du premier joueur
+	 * @param secondPlayer Fabrique du second joueur
+	 * @param openingMoves Nombre de coups d'ouverture joués hors des joueurs, pour varier les parties
+	 * @param openingBook Bibliothèque d'ouvertures fournissant les coups d'ouverture quand elle les connaît, null si aucune
+	 * @throws IllegalArgumentException Si le nombre de coups d'ouverture ne laisse pas de case libre dans le carré central
+	 */
+	public Tournament(Supplier<PlayerController> firstPlayer, Supplier<PlayerController> secondPlayer, int openingMoves, OpeningBook openingBook)
+	{
+		int openingSide = 2 * OPENING_RADIUS + 1; // Le carré central tient dans tout plateau d'au moins GomokuBoard.MIN_SIZE cases
+		if (openingMoves < 0 || openingMoves >= openingSide * openingSide)
+			throw new IllegalArgumentException("Nombre de coups d'ouverture invalide : " + openingMoves + ".");
+
+		this.firstPlayer = firstPlayer;
+		this.secondPlayer = secondPlayer;
+		this.openingMoves = openingMoves;
+		this.openingBook = openingBook;
+	}
+
+	/**
+	 * Choisir la taille du plateau des parties
+	 *
+	 * @param boardSize Nombre de lignes et de colonnes, de GomokuBoard.MIN_SIZE à GomokuBoard.MAX_SIZE
+	 * @throws IllegalArgumentException Si la taille n'est pas acceptée par GomokuBoard
+	 */
+	public void setBoardSize(int boardSize)
+	{
+		if (boardSize < GomokuBoard.MIN_SIZE || boardSize > GomokuBoard.MAX_SIZE)
+			throw new IllegalArgumentException("La taille du plateau doit être comprise entre " + GomokuBoard.MIN_SIZE + " et " + GomokuBoard.MAX_SIZE + " : " + boardSize + ".");
+
+		this.boardSize = boardSize;
+	}
+
+	/**
+	 * Enregistrer chaque partie terminée
+	 *
+	 * @param recorder Fichier de parties, null pour ne pas enregistrer les parties
+	 */
+	public void setRecorder(GameRecordWriter recorder)
+	{
+		this.recorder = recorder;
+	}
+
+	/**
+	 * Jouer toutes les parties du tournoi
+	 *
+	 * @param games Nombre de parties
+	 * @param threads Nombre de parties jouées en même temps
+	 * @param seed Graine des ouvertures aléatoires
+	 * @return Résultats des parties, dans l'ordre
+	 */
+	public List<GameResult> run(int games, int threads, long seed) throws InterruptedException
+	{
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try
+		{
+			List<Future<GameResult>> futures = new ArrayList<>();
+			for (int game = 0; game < games; game++)
+			{
+				boolean firstIsWhite = game % 2 == 0;
+				Random random = new Random(seed + game / 2); // Même ouverture pour les deux parties d'une paire
+				futures.add(executor.submit(() -> playGame(firstIsWhite, random)));
+			}
+
+			List<GameResult> results = new ArrayList<>();
+			for (Future<GameResult> future : futures)
+			{
+				results.add(future.get());
+			}
+			return results;
+		}
+		catch (ExecutionException e)
+		{
+			throw new IllegalStateException("Une partie du tournoi a échoué.", e.getCause());
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Jouer une partie sans affichage
+	 *
+	 * @param firstIsWhite true si le premier joueur a les blancs
+	 * @param random Générateur des coups d'ouverture
+	 * @return Résultat de la partie
+	 */
+	public GameResult playGame(boolean firstIsWhite, Random random)
+	{
+		PlayerController first = firstPlayer.get();
+		PlayerController second = secondPlayer.get();
+		PlayerController white = firstIsWhite ? first : second;
+		PlayerController black = firstIsWhite ? second : first;
+
+		GomokuBoard board = new GomokuBoard(boardSize);
+		long[] whiteLatencies = new long[board.getCellCount()];
+		long[] blackLatencies = new long[board.getCellCount()];
+		int whiteMoves = 0;
+		int blackMoves = 0;
+		int[] moves = new int[board.getCellCount()];
+		int moveCount = 0;
+
+		Player currentPlayer = Player.White;
+		WinnerState winnerState = WinnerState.None;
+		try
+		{ // Les joueurs arrêtent leurs threads (réflexion anticipée, recherche parallèle) même si l'un d'eux échoue
+			while (winnerState == WinnerState.None)
+			{
+				Coords move;
+				if (moveCount < openingMoves)
+				{
+					move = openingMove(board, currentPlayer, moveCount, random);
+				}
+				else
+				{
+					long startTime = System.nanoTime();
+					move = currentPlayer == Player.White ? white.play(board, Player.White) : black.play(board, Player.Black);
+					long moveDuration = System.nanoTime() - startTime;
+					if (currentPlayer == Player.White) whiteLatencies[whiteMoves++] = moveDuration;
+					else blackLatencies[blackMoves++] = moveDuration;
+				}
+
+				board.set(move, currentPlayer == Player.White ? TileState.White : TileState.Black);
+				winnerState = board.getWinnerStateAfter(move);
+				moves[moveCount++] = board.index(move.column, move.row);
+				currentPlayer = currentPlayer == Player.White ? Player.Black : Player.White;
+			}
+		}
+		finally
+		{
+			try
+			{
+				white.gameOver();
+			}
+			finally
+			{
+				black.gameOver();
+			}
+		}
+
+		if (recorder != null)
+		{
+			try
+			{
+				recorder.write(white.toString(), black.toString(), "openingMoves=" + openingMoves + " size=" + boardSize, winnerState, boardSize, moves, moveCount);
+			}
+			catch (IOException e)
+			{
+				throw new UncheckedIOException(e);
+			}
+		}
+
+		whiteLatencies = Arrays.copyOf(whiteLatencies, whiteMoves);
+		blackLatencies = Arrays.copyOf(blackLatencies, blackMoves);
+		return new GameResult(winnerState, firstIsWhite, moveCount,
+				firstIsWhite ? whiteLatencies : blackLatencies,
+				firstIsWhite ? blackLatencies : whiteLatencies);
+	}
+
+	/**
+	 * Choisir un coup d'ouverture : le premier est tiré au hasard, les suivants viennent de la bibliothèque
+	 * quand elle connaît la position, sinon ils sont tirés au hasard près du centre
+	 */
+	private Coords openingMove(GomokuBoard board, Player player, int moveCount, Random random)
+	{
+		if (moveCount > 0 && openingBook != null)
+		{
+			int bookMove = openingBook.lookup(board, player);
+			if (bookMove != -1) return board.toCoords(bookMove);
+		}
+
+		int center = board.getSize() / 2;
+		Coords move;
+		do
+		{
+			move = new Coords(center - OPENING_RADIUS + random.nextInt(2 * OPENING_RADIUS + 1),
+					center - OPENING_RADIUS + random.nextInt(2 * OPENING_RADIUS + 1));
+		}
+		while (board.get(move) != TileState.Empty);
+		return move;
+	}
+
+	/**
+	 * Afficher le bilan d'un tournoi du point de vue du premier joueur
+	 *
+	 * @param results Résultats des parties
+	 */
+	public static void printSummary(List<GameResult> results)
+	{
+		int wins = 0;
+		int draws = 0;
+		int losses = 0;
+		List<long[]> firstLatencies = new ArrayList<>();
+		List<long[]> secondLatencies = new ArrayList<>();
+		for (GameResult result : results)
+		{
+			if (result.winner() == WinnerState.Tie) draws++;
+			else if ((result.winner() == WinnerState.White) == result.firstIsWhite()) wins++;
+			else losses++;
+			firstLatencies.add(result.firstLatencies());
+			secondLatencies.add(result.secondLatencies());
+		}
+
+		System.out.println("Parties : " + results.size() + ", victoires : " + wins + ", égalités : " + draws + ", défaites : " + losses);
+		System.out.printf("Score du premier joueur : %.1f %%%n", results.isEmpty() ? 0.0 : 100.0 * (wins + 0.5 * draws) / results.size());
+		System.out.println("Premier joueur : " + latencySummary(firstLatencies));
+		System.out.println("Second joueur : " + latencySummary(secondLatencies));
+	}
+
+	/**
+	 * Résumer des temps de réflexion : moyenne, médiane, 95e centile et maximum en millisecondes
+	 */
+	private static String latencySummary(List<long[]> latencies)
+	{
+		long[] all = latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+		if (all.length == 0) return "aucun coup";
+
+		double average = Arrays.stream(all).average().orElse(0) / 1e6;
+		return String.format("%d coups, %.1f ms/coup, médiane %.1f ms, 95%% %.1f ms, max %.1f ms",
+				all.length, average, all[all.length / 2] / 1e6, all[(int) (all.length * 0.95)] / 1e6, all[all.length - 1] / 1e6);
+	}
+
+	/**
+	 * Créer une fabrique de joueurs à partir d'une description {@code type:profondeur:ms}, le type étant
+	 * {@code elagage} ou {@code random}. Le suffixe {@code :ponder} fait réfléchir l'IA Elagage pendant le temps
+	 * de l'adversaire. L'IA MCTS est décrite par {@code mcts:simulations:ms[:threads]}.
+	 *
+	 * @param description Description du joueur, par exemple {@code elagage:6:100}, {@code elagage:6:100:ponder}
+	 * ou {@code mcts:0:100:4}
+	 * @param openingBook Bibliothèque d'ouvertures donnée aux IA, null si aucune
+	 * @return Fabrique de joueurs
+	 */
+	public static Supplier<PlayerController> parsePlayer(String description, OpeningBook openingBook)
+	{
+		return parsePlayer(description, openingBook, null);
+	}
+
+	/**
+	 * Créer une fabrique de joueurs à partir d'une description, comme {@link #parsePlayer(String, OpeningBook)}
+	 *
+	 * @param searchCache Cache de recherche persistant donné aux IA Elagage, null si aucun
+	 */
+	public static Supplier<PlayerController> parsePlayer(String description, OpeningBook openingBook, SearchCache searchCache)
+	{
+		String[] parts = description.split(":");
+		int depth = parts.length > 1 ? Integer.parseInt(parts[1]) : 4;
+		long timeBudget = parts.length > 2 ? Long.parseLong(parts[2]) : 0;
+		boolean isPondering = parts.length > 3 && parts[3].equals("ponder");
+
+		switch (parts[0])
+		{
+			case "elagage":
+				return () -> {
+					AI_Elagage ai = new AI_Elagage(depth, null, timeBudget);
+					ai.setOpeningBook(openingBook);
+					ai.setPondering(isPondering);
+					ai.setSearchCache(searchCache);
+					return ai;
+				};
+			case "mcts":
+				int threads = parts.length > 3 ? Integer.parseInt(parts[3]) : 1;
+				return () -> {
+					AI_MCTS ai = new AI_MCTS(depth, timeBudget, threads);
+					ai.setOpeningBook(openingBook);
+					return ai;
+				};
+			case "random":
+				return () -> {
+					AI_Random ai = new AI_Random(depth, null, timeBudget);
+					ai.setOpeningBook(openingBook);
+					return ai;
+				};
+			default:
+				throw new IllegalArgumentException("Type de joueur inconnu : " + parts[0]);
+		}
+	}
+
+	/**
+	 * Lancer un tournoi.
+	 * <p>
+	 * Arguments : premier joueur, second joueur, nombre de parties, nombre de threads, coups d'ouverture,
+	 * bibliothèque d'ouvertures ({@code -} pour aucune), fichier où enregistrer les parties ({@code -} pour aucun),
+	 * taille du plateau, cache de recherche persistant partagé par les IA Elagage (créé s'il n'existe pas).
+	 * Exemple : {@code elagage:6:100 random:3:100 200 8 2 - parties.gkr 19 recherche.cache}
+	 */
+	public static void main(String[] args) throws IOException, InterruptedException
+	{
+		if (args.length < 2)
+		{
+			System.out.println("Usage : Tournament <joueur1> <joueur2> [parties] [threads] [coups d'ouverture] [bibliothèque|-] [fichier de parties|-] [taille] [cache]");
+			System.out.println("Joueur : elagage:profondeur:ms[:ponder], random:profondeur:ms ou mcts:simulations:ms[:threads]");
+			return;
+		}
+
+		int games = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+		int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+		int openingMoves = args.length > 4 ? Integer.parseInt(args[4]) : 2;
+		OpeningBook openingBook = args.length > 5 && !args[5].equals("-") ? OpeningBook.open(Path.of(args[5])) : null;
+		long startTime;
+		List<GameResult> results;
+		try (SearchCache searchCache = args.length > 8 ? SearchCache.open(Path.of(args[8]), SEARCH_CACHE_BITS) : null)
+		{
+			Tournament tournament = new Tournament(parsePlayer(args[0], openingBook, searchCache), parsePlayer(args[1], openingBook, searchCache), openingMoves, openingBook);
+			if (args.length > 7) tournament.setBoardSize(Integer.parseInt(args[7]));
+			startTime = System.currentTimeMillis();
+			if (args.length > 6 && !args[6].equals("-"))
+			{
+				try (GameRecordWriter recorder = new GameRecordWriter(Path.of(args[6])))
+				{
+					tournament.setRecorder(recorder);
+					results = tournament.run(games, threads, System.nanoTime());
+				}
+			}
+			else
+			{
+				results = tournament.run(games, threads, System.nanoTime());
+			}
+		}
+
+		System.out.println(args[0] + " contre " + args[1] + " en " + (System.currentTimeMillis() - startTime) / 1000 + " s");
+		printSummary(results);
+	}
+}
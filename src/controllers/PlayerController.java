@@ -1,16 +1,31 @@
-package controllers;
-
-import gamecore.Coords;
-import gamecore.GomokuBoard;
-import gamecore.enums.Player;
-
-/**Représente un joueur de Gomoku*/
-public abstract class PlayerController {
-    /**
-     * Permet à un joueur de jouer un coup
-     * @param board Plateau de jeu
-     * @param player Joueur qui doit jouer
-     * @return Coordonnées du coup joué
-     */
-    public abstract Coords play(GomokuBoard board, Player player);
-}
+package controllers;
+
+import gamecore.Coords;
+import gamecore.GomokuBoard;
+import gamecore.enums.Player;
+
+/**Représente un joueur de Gomoku*/
+public abstract class PlayerController {
+    /**
+     * Permet à un joueur de jouer un coup
+     * @param board Plateau de jeu
+     * @param player Joueur qui doit jouer
+     * @return Coordonnées du coup joué
+     */
+    public abstract Coords play(GomokuBoard board, Player player);
+
+    /**
+     * Prévenir le joueur que la partie est finie, pour qu'il arrête ce qu'il fait pendant le temps de l'adversaire
+     */
+    public void gameOver() {
+    }
+
+    /**
+     * Décrire le joueur et ses réglages, par exemple pour l'enregistrement des parties
+     * @return Description du joueur
+     */
+    @Override
+    public String toString() {
+        return getClass().getSimpleName();
+    }
+}
@@ -4,140 +4,846 @@ import controllers.PlayerController;
 import gamecore.Coords;
 import gamecore.GomokuBoard;
 import gamecore.enums.Player;
-import gamecore.enums.TileState;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 
-public class AI_Elagage extends PlayerController
+public class AI_Elagage extends PlayerController implements ConfigurableAI
 {
 
-	private final Random rnd = new Random();
+	/**
+	 * Score d'une position gagnée par les blancs (l'opposé pour les noirs)
+	 */
+	private static final int WIN_SCORE = 1_000_000_000;
+
+	/**
+	 * Logarithme en base 2 du nombre d'entrées de la table de transposition
+	 */
+	private static final int TRANSPOSITION_TABLE_BITS = 20;
+
+	/**
+	 * Profondeur maximale (en demi-coups depuis la racine) suivie par les coups killers
+	 */
+	private static final int MAX_PLY = 64;
+
+	/**
+	 * Poids du tri préalable des coups selon le nombre de pièces alignées touchant la case (0 à 8),
+	 * pour ses propres pièces (attaque) et pour celles de l'adversaire (défense). L'IA MCTS s'en sert aussi
+	 * pour choisir les enfants de ses noeuds.
+	 */
+	static final int[] ATTACK_WEIGHTS = {0, 3, 24, 200, 100_000, 100_000, 100_000, 100_000, 100_000};
+	static final int[] DEFENSE_WEIGHTS = {0, 2, 16, 150, 50_000, 50_000, 50_000, 50_000, 50_000};
+	private static final int KILLER_BONUS = 40_000;
+	private static final int HISTORY_CAP = 10_000;
+
+	/**
+	 * Demi-largeur initiale de la fenêtre d'aspiration autour du score de l'itération précédente (le poids d'un trois),
+	 * multipliée par ASPIRATION_GROWTH à chaque échec ; au-delà de ASPIRATION_LIMIT la fenêtre est ouverte de ce côté
+	 */
+	private static final int ASPIRATION_WINDOW = 100;
+	private static final int ASPIRATION_GROWTH = 4;
+	private static final int ASPIRATION_LIMIT = 10_000;
+
+	/**
+	 * Limites de la recherche de menaces lancée avant l'alpha-bêta : nombre de quatre (VCF),
+	 * nombre de menaces (VCT) et nombre de positions examinées par recherche
+	 */
+	private static final int VCF_DEPTH = 16;
+	private static final int VCT_DEPTH = 4;
+	private static final long THREAT_NODE_LIMIT = 5_000;
+
+	private final TranspositionTable transpositionTable;
+	private final IncrementalEvaluator evaluator = new IncrementalEvaluator();
 	private long nodesVisited = 0;
 	private long nodesPruned = 0;
+	private long transpositionProbes = 0;
+
+	/**
+	 * Nombre de recherches refaites avec une fenêtre complète après un test en fenêtre nulle réussi (PVS),
+	 * et nombre de racines cherchées à nouveau après une sortie de la fenêtre d'aspiration
+	 */
+	private long pvsResearches = 0;
+	private long aspirationResearches = 0;
+	private long transpositionHits = 0;
+	private long cacheHits = 0;
+
+	/**
+	 * Nombre de coupes alpha-bêta par profondeur depuis la racine, pendant la recherche en cours
+	 */
+	private final long[] cutoffsByPly = new long[MAX_PLY];
+
+	/**
+	 * Deux coups killers par profondeur : derniers coups ayant provoqué une coupe à cette profondeur
+	 */
+	private final int[][] killerMoves = new int[MAX_PLY][2];
+
+	/**
+	 * Heuristique d'historique : bonus par case, augmenté à chaque coupe provoquée par un coup sur cette case.
+	 * Le tableau est redimensionné quand la taille du plateau change.
+	 */
+	private int[] history = new int[0];
+
+	/**
+	 * Tampons de la recherche, un par profondeur depuis la racine : coups du noeud (index de case) et leurs notes de tri.
+	 * Ils ne sont alloués qu'au changement de taille du plateau ou de profondeur : la recherche n'alloue rien par noeud.
+	 */
+	private int[][] moveBuffers = new int[0][];
+	private int[][] scoreBuffers = new int[0][];
+
+	/**
+	 * Meilleur coup trouvé à la racine par la dernière recherche, -1 si aucun
+	 */
+	private int searchBestMove = -1;
 	private int minimaxDepth;
 	private Player playerColor;
 
+	/**
+	 * Temps maximal de réflexion par coup en millisecondes, 0 pour chercher jusqu'à minimaxDepth sans limite de temps
+	 */
+	private long timeBudgetMillis;
+
+	/**
+	 * Temps de réflexion au-delà duquel aucune nouvelle itération n'est commencée, 0 pour ne compter que timeBudgetMillis.
+	 * Une itération coûte plusieurs fois la précédente : la commencer tard revient souvent à l'interrompre.
+	 */
+	private long iterationBudgetMillis;
+
+	/**
+	 * Instant (System.nanoTime) auquel la recherche en cours doit s'arrêter, 0 si aucun, et instant après lequel
+	 * aucune itération n'est commencée, 0 si aucun. Ils peuvent être modifiés par un autre thread pendant une réflexion anticipée.
+	 */
+	private volatile long deadline;
+	private volatile long iterationDeadline;
+	private boolean searchAborted;
+
+	/**
+	 * true pendant la recherche de secours à profondeur 1, qui doit aboutir malgré l'échéance et une demande d'arrêt
+	 */
+	private boolean isUninterruptible;
+
+	/**
+	 * Clé de la position racine et meilleur coup de la dernière itération terminée, cherché en premier à l'itération suivante
+	 */
+	private long rootKey;
+	private int rootBestMove = -1;
+
+	/**
+	 * Coups de la racine (index de case) qui parent une victoire forcée de l'adversaire, null pour chercher tous les coups
+	 */
+	private int[] rootMoves;
+	private final ThreatSolver threatSolver = new ThreatSolver(VCF_DEPTH, VCT_DEPTH, THREAT_NODE_LIMIT);
+
+	/**
+	 * Bibliothèque d'ouvertures consultée avant toute recherche, null si aucune
+	 */
+	private OpeningBook openingBook;
+
+	/**
+	 * Cache de recherche persistant consulté quand la table de transposition ne connaît pas la position, null si aucun
+	 */
+	private SearchCache searchCache;
+
+	/**
+	 * Mesures de la dernière recherche, et fonction qui les reçoit à la fin de chaque coup
+	 */
+	private SearchStats lastSearchStats;
+	private Consumer<SearchStats> statsListener;
+
+	/**
+	 * Réflexion anticipée : après chaque coup, un thread d'arrière-plan prévoit la réponse de l'adversaire
+	 * et cherche déjà le coup suivant pendant que l'adversaire réfléchit.
+	 * ponderKey est la clé de la position prévue, 0 tant que la réponse n'est pas prévue ;
+	 * son écriture publie aussi ponderStartTime et ponderStats au thread de jeu.
+	 */
+	private boolean isPondering;
+	private Thread ponderThread;
+	private volatile boolean ponderStopRequested;
+	private volatile long ponderKey;
+	private long ponderStartTime;
+	private SearchStats ponderStats;
+	private EvaluationVariable ponderResult;
+
+	/**
+	 * Nombre de threads de la recherche : au-delà de 1, les coups de la racine sont répartis entre des IA auxiliaires
+	 * qui partagent la table de transposition
+	 */
+	private final int threadCount;
+	private ForkJoinPool pool;
+	private final ConcurrentLinkedQueue<AI_Elagage> idleHelpers = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * Meilleur score et meilleur coup trouvés à la racine pendant une recherche parallèle, protégés par rootLock
+	 */
+	private final Object rootLock = new Object();
+	private int rootBestEval;
+	private int rootBestCell;
+
 	public AI_Elagage(int minimaxDepth, Player playerColor)
+	{
+		this(minimaxDepth, playerColor, 0);
+	}
+
+	/**
+	 * @param minimaxDepth Profondeur maximale de recherche
+	 * @param playerColor Couleur du joueur
+	 * @param timeBudgetMillis Temps maximal de réflexion par coup en millisecondes (0 = sans limite)
+	 */
+	public AI_Elagage(int minimaxDepth, Player playerColor, long timeBudgetMillis)
+	{
+		this(minimaxDepth, playerColor, timeBudgetMillis, 1);
+	}
+
+	/**
+	 * @param minimaxDepth Profondeur maximale de recherche
+	 * @param playerColor Couleur du joueur
+	 * @param timeBudgetMillis Temps maximal de réflexion par coup en millisecondes (0 = sans limite)
+	 * @param threadCount Nombre de threads utilisés pour la recherche
+	 */
+	public AI_Elagage(int minimaxDepth, Player playerColor, long timeBudgetMillis, int threadCount)
+	{
+		this(minimaxDepth, playerColor, timeBudgetMillis, threadCount, TRANSPOSITION_TABLE_BITS);
+	}
+
+	/**
+	 * @param minimaxDepth Profondeur maximale de recherche
+	 * @param playerColor Couleur du joueur
+	 * @param timeBudgetMillis Temps maximal de réflexion par coup en millisecondes (0 = sans limite)
+	 * @param threadCount Nombre de threads utilisés pour la recherche
+	 * @param transpositionTableBits Logarithme en base 2 du nombre d'entrées de la table de transposition
+	 */
+	public AI_Elagage(int minimaxDepth, Player playerColor, long timeBudgetMillis, int threadCount, int transpositionTableBits)
 	{
 		this.minimaxDepth = minimaxDepth;
 		this.playerColor = playerColor;
+		this.timeBudgetMillis = timeBudgetMillis;
+		this.threadCount = Math.max(1, threadCount);
+		this.transpositionTable = new TranspositionTable(transpositionTableBits);
 	}
 
 	public AI_Elagage()
 	{
-		super();
+		this(0, null);
 	}
 
-	public Coords[] getAvailableMoves(GomokuBoard board)
+	/**
+	 * Créer une IA auxiliaire pour la recherche parallèle, partageant la table de transposition de l'IA principale
+	 */
+	private AI_Elagage(AI_Elagage parent)
+	{
+		this.minimaxDepth = parent.minimaxDepth;
+		this.playerColor = parent.playerColor;
+		this.threadCount = 1;
+		this.transpositionTable = parent.transpositionTable;
+	}
+
+	/**
+	 * Utiliser une bibliothèque d'ouvertures
+	 *
+	 * @param openingBook Bibliothèque consultée avant toute recherche, null pour n'en utiliser aucune
+	 */
+	@Override
+	public void setOpeningBook(OpeningBook openingBook)
+	{
+		this.openingBook = openingBook;
+	}
+
+	/**
+	 * Utiliser un cache de recherche persistant, partagé avec d'autres IA et d'autres processus : les recherches
+	 * d'au moins SearchCache.MIN_DEPTH y sont enregistrées en plus de la table de transposition, et y sont
+	 * cherchées quand la table ne connaît pas la position aussi profondément
+	 *
+	 * @param searchCache Cache de recherche, null pour n'en utiliser aucun
+	 */
+	public void setSearchCache(SearchCache searchCache)
+	{
+		this.searchCache = searchCache;
+	}
+
+	/**
+	 * Changer le temps de réflexion des coups suivants, par exemple selon le temps restant dans la partie
+	 *
+	 * @param timeBudgetMillis Temps maximal de réflexion par coup en millisecondes (0 = sans limite)
+	 * @param iterationBudgetMillis Temps au-delà duquel aucune nouvelle itération n'est commencée (0 = jusqu'à timeBudgetMillis)
+	 */
+	public void setTimeBudget(long timeBudgetMillis, long iterationBudgetMillis)
+	{
+		this.timeBudgetMillis = timeBudgetMillis;
+		this.iterationBudgetMillis = iterationBudgetMillis;
+	}
+
+	/**
+	 * Activer la réflexion anticipée pendant le temps de l'adversaire.
+	 * <p>
+	 * Si l'adversaire joue le coup prévu, la recherche déjà commencée devient celle du coup : le temps écoulé
+	 * depuis son début est décompté du temps de réflexion, et la réponse est immédiate si ce temps est épuisé
+	 * ou si la profondeur maximale est déjà atteinte. Sinon la recherche est arrêtée, et ce qu'elle a appris
+	 * reste dans la table de transposition. La réflexion anticipée utilise un seul thread.
+	 *
+	 * @param isPondering true pour réfléchir pendant le temps de l'adversaire
+	 */
+	public void setPondering(boolean isPondering)
+	{
+		this.isPondering = isPondering;
+		if (!isPondering) stopPondering();
+	}
+
+	/**
+	 * Arrêter la réflexion anticipée en cours, par exemple à la fin de la partie
+	 */
+	public void stopPondering()
 	{
-		List<Coords> moves = new ArrayList<>();
+		if (ponderThread == null) return;
 
-		for (int row = 0; row < GomokuBoard.size; row++)
+		ponderStopRequested = true;
+		joinPonderThread();
+	}
+
+	@Override
+	public void gameOver()
+	{
+		stopPondering();
+		if (pool != null)
+		{ // Les threads de la recherche parallèle ne survivent pas à la partie ; une nouvelle recherche les recrée
+			pool.shutdown();
+			pool = null;
+		}
+	}
+
+	/**
+	 * Oublier ce qui a été appris pendant les recherches précédentes (table de transposition, historique)
+	 */
+	public void newGame()
+	{
+		stopPondering();
+		transpositionTable.clear();
+		Arrays.fill(history, 0);
+		rootBestMove = -1;
+	}
+
+	public Coords[] getAvailableMoves(GomokuBoard board)
+	{
+		int[] cells = new int[board.getCellCount()];
+		int count = generateMoves(board, cells);
+		Coords[] moves = new Coords[count];
+		for (int i = 0; i < count; i++)
 		{
-			for (int col = 0; col < GomokuBoard.size; col++)
-			{
-				Coords c = new Coords(row, col);
-				if (board.get(c) == TileState.Empty)
-				{
-					moves.add(c);
-				}
-			}
+			moves[i] = board.toCoords(cells[i]);
+		}
+		return moves;
+	}
+
+	/**
+	 * Copier les coups possibles dans un tableau, sans allocation
+	 *
+	 * @param moves Tableau de destination, d'au moins board.getCellCount() cases
+	 * @return Nombre de coups copiés
+	 */
+	private static int generateMoves(GomokuBoard board, int[] moves)
+	{
+		if (board.getCandidateCount() > 0)
+		{ // Seules les cases vides proches des pièces déjà posées sont envisagées
+			return board.getCandidates(moves);
 		}
 
-		return moves.toArray(new Coords[0]);
+		int count = 0; // Plateau vide : toutes les cases sont possibles
+		for (int cell = 0; cell < board.getCellCount(); cell++)
+		{
+			if (board.getCode(cell) == GomokuBoard.EMPTY) moves[count++] = cell;
+		}
+		return count;
 	}
 
 	public EvaluationVariable minimaxAlphaBeta(GomokuBoard board, int depth, boolean isMaximizingPlayer, Player player, int alpha, int beta)
+	{
+		int score = searchTree(board, depth, isMaximizingPlayer, player, alpha, beta);
+		return new EvaluationVariable(searchBestMove != -1 ? board.toCoords(searchBestMove) : new Coords(), score);
+	}
+
+	/**
+	 * Chercher une position à partir de la racine, sur un seul thread
+	 *
+	 * @return Score de la position ; le meilleur coup est dans searchBestMove
+	 */
+	private int searchTree(GomokuBoard board, int depth, boolean isMaximizingPlayer, Player player, int alpha, int beta)
+	{
+		adaptToBoardSize(board);
+		ensureBuffers(board.getCellCount(), depth);
+		evaluator.reset(board);
+		searchBestMove = -1;
+		return minimaxAlphaBeta(board, depth, 0, isMaximizingPlayer, player, alpha, beta);
+	}
+
+	private int minimaxAlphaBeta(GomokuBoard board, int depth, int ply, boolean isMaximizingPlayer, Player player, int alpha, int beta)
 	{
 		nodesVisited++;
 
-		if (getAvailableMoves(board).length >= 224)
+		// Vérifier régulièrement le temps restant ; une recherche interrompue est abandonnée par play()
+		if ((nodesVisited & 1023) == 0 && !isUninterruptible && (ponderStopRequested || deadline != 0 && System.nanoTime() >= deadline))
+		{
+			searchAborted = true;
+		}
+		if (searchAborted)
+		{
+			return 0;
+		}
+
+		if (depth == 0 || board.isFull())
 		{
-			if (board.get(6, 6).equals(TileState.Empty))
+			return evaluator.getScore();
+		}
+
+		// Consulter la table de transposition : la position a pu être atteinte par un autre ordre de coups
+		long key = TranspositionTable.keyOf(board, player);
+		long entry = transpositionTable.probe(key);
+		transpositionProbes++;
+		if (searchCache != null && depth >= SearchCache.MIN_DEPTH && (entry == 0 || TranspositionTable.depthOf(entry) < depth))
+		{ // Puis le cache persistant, qui peut connaître la position d'une partie ou d'un processus précédent
+			long cached = searchCache.probe(key);
+			if (cached != 0 && (entry == 0 || TranspositionTable.depthOf(cached) > TranspositionTable.depthOf(entry)))
 			{
-				return new EvaluationVariable(new Coords(6, 6), Integer.MAX_VALUE);
+				entry = cached;
+				cacheHits++;
 			}
-			else
+		}
+		int transpositionMove = -1;
+		if (entry != 0)
+		{
+			transpositionHits++;
+			transpositionMove = TranspositionTable.moveOf(entry);
+			// A la racine restreinte, une entrée d'une recherche précédente pourrait désigner un coup écarté
+			if (TranspositionTable.depthOf(entry) >= depth && !(key == rootKey && rootMoves != null))
 			{
-				return new EvaluationVariable(new Coords(7, 7), Integer.MAX_VALUE);
+				int storedScore = TranspositionTable.scoreOf(entry);
+				switch (TranspositionTable.boundOf(entry))
+				{
+					case TranspositionTable.EXACT -> alpha = beta = storedScore;
+					case TranspositionTable.LOWER_BOUND -> alpha = Math.max(alpha, storedScore);
+					case TranspositionTable.UPPER_BOUND -> beta = Math.min(beta, storedScore);
+				}
+				if (alpha >= beta)
+				{
+					if (ply == 0) searchBestMove = transpositionMove;
+					return storedScore;
+				}
 			}
 		}
 
-		if (depth == 0)
+		// Fenêtre réellement cherchée, pour déterminer le type de borne du résultat
+		int originalAlpha = alpha;
+		int originalBeta = beta;
+
+		int[] moves = moveBuffers[ply];
+		int moveCount;
+		if (key == rootKey && rootMoves != null)
 		{
-			int eval = minimaxEvalRoot(board);
-			return new EvaluationVariable(new Coords(), eval);
+			System.arraycopy(rootMoves, 0, moves, 0, rootMoves.length);
+			moveCount = rootMoves.length;
 		}
-
-		Coords[] moves = getAvailableMoves(board);
-		List<Coords> bestMoves = new ArrayList<>();
+		else moveCount = generateMoves(board, moves);
+		int firstMove = (key == rootKey && rootBestMove != -1) ? rootBestMove : transpositionMove;
+		orderMoves(board, moves, moveCount, ply, firstMove, player);
+		int chosen = moves[0];
 		int bestEval = isMaximizingPlayer ? Integer.MIN_VALUE : Integer.MAX_VALUE;
 
-		for (int i = 0; i < moves.length; i++)
+		for (int i = 0; i < moveCount; i++)
 		{
-			Coords move = moves[i];
+			int move = moves[i];
 
-			GomokuBoard clonedBoard = board.clone();
-			clonedBoard.set(move, player == Player.White ? TileState.White : TileState.Black);
-
-			Player nextPlayer = (player == Player.White ? Player.Black : Player.White);
+			int childScore;
+			if (i == 0)
+			{ // Variation principale supposée : fenêtre complète
+				childScore = searchMove(board, move, depth, ply, isMaximizingPlayer, player, alpha, beta);
+			}
+			else
+			{ // Coups suivants : une fenêtre nulle suffit à prouver qu'ils ne font pas mieux, et coupe bien davantage
+				childScore = isMaximizingPlayer
+						? searchMove(board, move, depth, ply, true, player, alpha, alpha + 1)
+						: searchMove(board, move, depth, ply, false, player, beta - 1, beta);
+				if (!searchAborted && childScore > alpha && childScore < beta)
+				{ // Le coup fait mieux : le chercher à nouveau avec la fenêtre complète pour obtenir son score
+					pvsResearches++;
+					childScore = searchMove(board, move, depth, ply, isMaximizingPlayer, player, alpha, beta);
+				}
+			}
 
-			EvaluationVariable childEval = minimaxAlphaBeta(clonedBoard, depth - 1, !isMaximizingPlayer, nextPlayer, alpha, beta);
-			int childScore = childEval.evaluationScore;
+			if (searchAborted)
+			{ // Résultat incomplet : ne rien enregistrer dans la table
+				return bestEval;
+			}
 
 			if (isMaximizingPlayer)
 			{
 				if (childScore > bestEval)
-				{
+				{ // En cas d'égalité le premier coup est gardé : une égalité obtenue après une coupe n'est qu'une borne
 					bestEval = childScore;
-					bestMoves.clear();
-					bestMoves.add(move);
-				}
-				else if (childScore == bestEval)
-				{
-					bestMoves.add(move);
+					chosen = move;
 				}
 
 				// mettre à jour alpha et tester la coupe
 				alpha = Math.max(alpha, bestEval);
 				if (alpha >= beta)
 				{
-					nodesPruned += (moves.length - i - 1);
+					nodesPruned += (moveCount - i - 1);
+					recordCutoff(move, depth, ply);
 					break;
 				}
 			}
 			else
 			{
 				if (childScore < bestEval)
-				{
+				{ // En cas d'égalité le premier coup est gardé : une égalité obtenue après une coupe n'est qu'une borne
 					bestEval = childScore;
-					bestMoves.clear();
-					bestMoves.add(move);
-				}
-				else if (childScore == bestEval)
-				{
-					bestMoves.add(move);
+					chosen = move;
 				}
 
 				// mettre à jour beta et tester la coupe
 				beta = Math.min(beta, bestEval);
 				if (beta <= alpha)
 				{
-					nodesPruned += (moves.length - i - 1);
+					nodesPruned += (moveCount - i - 1);
+					recordCutoff(move, depth, ply);
 					break;
 				}
 			}
 		}
 
-		Coords chosen = bestMoves.get(0);
-		if (bestMoves.size() > 1)
+		int bound = bestEval <= originalAlpha ? TranspositionTable.UPPER_BOUND
+				: bestEval >= originalBeta ? TranspositionTable.LOWER_BOUND
+				: TranspositionTable.EXACT;
+		// Quand aucun coup n'a atteint la fenêtre, le meilleur score n'est qu'une borne et ne désigne pas un meilleur coup
+		boolean isAllNode = isMaximizingPlayer ? bound == TranspositionTable.UPPER_BOUND : bound == TranspositionTable.LOWER_BOUND;
+		transpositionTable.store(key, depth, bound, bestEval, isAllNode ? -1 : chosen);
+		if (searchCache != null) searchCache.store(key, depth, bound, bestEval, isAllNode ? -1 : chosen);
+
+		if (ply == 0) searchBestMove = chosen;
+		return bestEval;
+	}
+
+	/**
+	 * Jouer un coup, chercher la position obtenue puis annuler le coup
+	 *
+	 * @return Score de la position après le coup
+	 */
+	private int searchMove(GomokuBoard board, int cell, int depth, int ply, boolean isMaximizingPlayer, Player player, int alpha, int beta)
+	{
+		board.play(cell, player == Player.White ? GomokuBoard.WHITE : GomokuBoard.BLACK);
+		evaluator.play(board, cell);
+
+		int childScore;
+		if (board.isWinningMove(cell))
+		{ // Coup gagnant : position terminale, une victoire rapide vaut plus qu'une victoire lointaine
+			childScore = (player == Player.White) ? WIN_SCORE + depth : -WIN_SCORE - depth;
+		}
+		else
 		{
-			chosen = bestMoves.get(rnd.nextInt(bestMoves.size()));
+			Player nextPlayer = (player == Player.White ? Player.Black : Player.White);
+			childScore = minimaxAlphaBeta(board, depth - 1, ply + 1, !isMaximizingPlayer, nextPlayer, alpha, beta);
 		}
 
-		return new EvaluationVariable(chosen, bestEval);
+		evaluator.undo();
+		board.undo();
+
+		return childScore;
+	}
+
+	/**
+	 * Chercher la racine en parallèle : le premier coup (le meilleur selon le tri) est cherché seul pour obtenir
+	 * une bonne borne, puis les coups suivants sont répartis entre les threads, chacun sur sa copie du plateau,
+	 * testés en fenêtre nulle contre la meilleure borne connue au moment où ils commencent
+	 *
+	 * @param alpha Borne basse de la fenêtre de la racine
+	 * @param beta Borne haute de la fenêtre de la racine
+	 * @return Score de la racine ; le meilleur coup est dans searchBestMove
+	 */
+	private int searchRootParallel(GomokuBoard board, int depth, boolean isMaximizingPlayer, Player player, int alpha, int beta)
+	{
+		nodesVisited++;
+		ensureBuffers(board.getCellCount(), depth);
+		evaluator.reset(board);
+		searchBestMove = -1;
+
+		int[] moves = moveBuffers[0];
+		int moveCount;
+		if (rootMoves != null)
+		{
+			System.arraycopy(rootMoves, 0, moves, 0, rootMoves.length);
+			moveCount = rootMoves.length;
+		}
+		else moveCount = generateMoves(board, moves);
+		int firstMove = rootBestMove != -1 ? rootBestMove : TranspositionTable.moveOf(transpositionTable.probe(rootKey));
+		orderMoves(board, moves, moveCount, 0, firstMove, player);
+
+		int firstScore = searchMove(board, moves[0], depth, 0, isMaximizingPlayer, player, alpha, beta);
+		if (searchAborted) return 0;
+
+		rootBestEval = firstScore;
+		rootBestCell = moves[0];
+
+		List<Callable<Void>> tasks = new ArrayList<>();
+		for (int i = 1; i < moveCount; i++)
+		{
+			int move = moves[i];
+			tasks.add(() -> {
+				AI_Elagage helper = idleHelpers.poll();
+				if (helper == null) helper = createHelper(); // Le thread appelant peut aussi exécuter des tâches
+				try
+				{
+					int bestEval;
+					synchronized (rootLock)
+					{
+						bestEval = rootBestEval;
+					}
+					int low = isMaximizingPlayer ? Math.max(alpha, bestEval) : alpha;
+					int high = isMaximizingPlayer ? beta : Math.min(beta, bestEval);
+					if (low >= high) return null; // Coupe à la racine : la fenêtre est dépassée
+					if (Math.abs(bestEval) >= WIN_SCORE && (bestEval > 0) == isMaximizingPlayer) return null; // Victoire déjà trouvée
+
+					GomokuBoard helperBoard = board.clone();
+					helper.evaluator.reset(helperBoard);
+					int score = isMaximizingPlayer
+							? helper.searchMove(helperBoard, move, depth, 0, true, player, low, low + 1)
+							: helper.searchMove(helperBoard, move, depth, 0, false, player, high - 1, high);
+					if (!helper.searchAborted && score > low && score < high)
+					{
+						helper.pvsResearches++;
+						score = helper.searchMove(helperBoard, move, depth, 0, isMaximizingPlayer, player, low, high);
+					}
+					if (helper.searchAborted) return null;
+
+					synchronized (rootLock)
+					{
+						if (isMaximizingPlayer ? score > rootBestEval : score < rootBestEval)
+						{
+							rootBestEval = score;
+							rootBestCell = move;
+						}
+					}
+				}
+				finally
+				{
+					idleHelpers.add(helper);
+				}
+				return null;
+			});
+		}
+		pool.invokeAll(tasks);
+
+		// Regrouper les compteurs des IA auxiliaires et propager une éventuelle interruption
+		for (AI_Elagage helper : idleHelpers)
+		{
+			nodesVisited += helper.nodesVisited;
+			nodesPruned += helper.nodesPruned;
+			transpositionProbes += helper.transpositionProbes;
+			transpositionHits += helper.transpositionHits;
+			cacheHits += helper.cacheHits;
+			pvsResearches += helper.pvsResearches;
+			for (int ply = 0; ply < MAX_PLY; ply++)
+			{
+				cutoffsByPly[ply] += helper.cutoffsByPly[ply];
+				helper.cutoffsByPly[ply] = 0;
+			}
+			helper.nodesVisited = 0;
+			helper.nodesPruned = 0;
+			helper.transpositionProbes = 0;
+			helper.transpositionHits = 0;
+			helper.cacheHits = 0;
+			helper.pvsResearches = 0;
+			if (helper.searchAborted) searchAborted = true;
+		}
+		if (searchAborted) return 0;
+
+		int bound = rootBestEval <= alpha ? TranspositionTable.UPPER_BOUND
+				: rootBestEval >= beta ? TranspositionTable.LOWER_BOUND
+				: TranspositionTable.EXACT;
+		transpositionTable.store(rootKey, depth, bound, rootBestEval, rootBestCell);
+		if (searchCache != null) searchCache.store(rootKey, depth, bound, rootBestEval, rootBestCell);
+		searchBestMove = rootBestCell;
+		return rootBestEval;
+	}
+
+	/**
+	 * Dimensionner l'historique pour la taille du plateau. Ce qui a été appris sur un plateau d'une autre taille
+	 * ne vaut plus rien : l'historique et la table de transposition repartent de zéro.
+	 */
+	private void adaptToBoardSize(GomokuBoard board)
+	{
+		if (history.length == board.getCellCount()) return;
+
+		history = new int[board.getCellCount()];
+		transpositionTable.clear();
+	}
+
+	/**
+	 * Allouer les tampons de la recherche pour le nombre de cases du plateau et la profondeur, s'ils ne suffisent pas déjà
+	 */
+	private void ensureBuffers(int cellCount, int depth)
+	{
+		boolean isSameSize = moveBuffers.length > 0 && moveBuffers[0].length == cellCount;
+		if (isSameSize && moveBuffers.length > depth) return;
+
+		int plies = Math.max(depth + 1, isSameSize ? moveBuffers.length : 0);
+		moveBuffers = new int[plies][cellCount];
+		scoreBuffers = new int[plies][cellCount];
+	}
+
+	/**
+	 * Préparer les IA auxiliaires pour une nouvelle recherche parallèle
+	 */
+	private void prepareHelpers()
+	{
+		if (pool == null) pool = new ForkJoinPool(threadCount);
+		if (idleHelpers.isEmpty())
+		{
+			for (int i = 0; i < threadCount; i++)
+			{
+				idleHelpers.add(new AI_Elagage(this));
+			}
+		}
+
+		for (AI_Elagage helper : idleHelpers)
+		{
+			prepareHelper(helper);
+		}
+	}
+
+	private AI_Elagage createHelper()
+	{
+		AI_Elagage helper = new AI_Elagage(this);
+		prepareHelper(helper);
+		return helper;
+	}
+
+	private void prepareHelper(AI_Elagage helper)
+	{
+		helper.deadline = deadline;
+		helper.searchCache = searchCache;
+		helper.searchAborted = false;
+		helper.rootKey = rootKey;
+		helper.rootBestMove = -1;
+		helper.rootMoves = rootMoves;
+		helper.ensureBuffers(history.length, minimaxDepth);
+		for (int[] killers : helper.killerMoves)
+		{
+			killers[0] = -1;
+			killers[1] = -1;
+		}
+		if (helper.history.length != history.length) helper.history = new int[history.length];
+		for (int cell = 0; cell < helper.history.length; cell++)
+		{
+			helper.history[cell] >>= 1;
+		}
+	}
+
+	/**
+	 * Trier les coups pour provoquer les coupes alpha-bêta le plus tôt possible : d'abord le meilleur coup connu
+	 * (itération précédente ou table de transposition), puis selon une note statique (alignements créés ou bloqués),
+	 * les coups killers de cette profondeur et l'heuristique d'historique
+	 *
+	 * @param board Plateau de jeu
+	 * @param moves Index des cases des coups à trier, modifiés sur place
+	 * @param count Nombre de coups
+	 * @param ply Profondeur du noeud depuis la racine
+	 * @param bestKnownMove Index de la case du meilleur coup connu, -1 si aucun
+	 * @param player Joueur qui doit jouer
+	 */
+	private void orderMoves(GomokuBoard board, int[] moves, int count, int ply, int bestKnownMove, Player player)
+	{
+		byte ownCode = player == Player.White ? GomokuBoard.WHITE : GomokuBoard.BLACK;
+		byte opponentCode = player == Player.White ? GomokuBoard.BLACK : GomokuBoard.WHITE;
+		int[] killers = ply < MAX_PLY ? killerMoves[ply] : null;
+
+		int[] scores = scoreBuffers[ply];
+		for (int i = 0; i < count; i++)
+		{
+			int cell = moves[i];
+			if (cell == bestKnownMove)
+			{
+				scores[i] = Integer.MAX_VALUE;
+				continue;
+			}
+
+			int score = 0;
+			for (int direction = 0; direction < 4; direction++)
+			{
+				score += ATTACK_WEIGHTS[board.countAligned(cell, direction, ownCode)];
+				score += DEFENSE_WEIGHTS[board.countAligned(cell, direction, opponentCode)];
+			}
+			if (killers != null && (killers[0] == cell || killers[1] == cell)) score += KILLER_BONUS;
+			scores[i] = score + Math.min(history[cell], HISTORY_CAP);
+		}
+
+		// Tri par insertion décroissant : quelques dizaines de coups au plus
+		for (int i = 1; i < count; i++)
+		{
+			int move = moves[i];
+			int score = scores[i];
+			int j = i - 1;
+			while (j >= 0 && scores[j] < score)
+			{
+				moves[j + 1] = moves[j];
+				scores[j + 1] = scores[j];
+				j--;
+			}
+			moves[j + 1] = move;
+			scores[j + 1] = score;
+		}
+	}
+
+	/**
+	 * Mémoriser un coup ayant provoqué une coupe : coup killer pour cette profondeur et bonus d'historique
+	 */
+	private void recordCutoff(int cell, int depth, int ply)
+	{
+		if (ply < MAX_PLY) cutoffsByPly[ply]++;
+		if (ply < MAX_PLY && killerMoves[ply][0] != cell)
+		{
+			killerMoves[ply][1] = killerMoves[ply][0];
+			killerMoves[ply][0] = cell;
+		}
+		history[cell] += depth * depth;
+	}
+
+	/**
+	 * Chercher une victoire forcée par menaces pour le joueur, et sinon restreindre les coups de la racine
+	 * à ceux qui parent une victoire forcée par quatre de l'adversaire
+	 *
+	 * @return Index de la case du premier coup d'une victoire forcée, -1 si aucune n'a été trouvée
+	 */
+	private int solveThreats(GomokuBoard board, Player player)
+	{
+		if (board.getStoneCount() <= 1) return -1;
+
+		byte ownCode = player == Player.White ? GomokuBoard.WHITE : GomokuBoard.BLACK;
+		byte opponentCode = player == Player.White ? GomokuBoard.BLACK : GomokuBoard.WHITE;
+
+		// Le solveur s'arrête à l'échéance du coup, comme la recherche ; sans réponse, l'alpha-bêta joue seul
+		threatSolver.setDeadline(deadline);
+		int winningMove = threatSolver.findVcf(board, ownCode);
+		if (winningMove == -1 && !threatSolver.isAborted()) winningMove = threatSolver.findVct(board, ownCode);
+		if (winningMove != -1) return winningMove;
+		if (threatSolver.isAborted()) return -1;
+
+		if (threatSolver.findVcf(board, opponentCode) == -1) return -1;
+
+		// L'adversaire menace de gagner par quatre successifs : ne garder que les coups qui l'en empêchent
+		int[] moves = new int[board.getCellCount()];
+		int moveCount = generateMoves(board, moves);
+		int defenseCount = 0;
+		for (int i = 0; i < moveCount; i++)
+		{
+			board.play(moves[i], ownCode);
+			boolean isDefense = threatSolver.findVcf(board, opponentCode) == -1;
+			board.undo();
+			if (threatSolver.isAborted()) return -1; // Parades incomplètes : ne pas restreindre les coups
+			if (isDefense) moves[defenseCount++] = moves[i];
+		}
+		if (defenseCount > 0 && defenseCount < moveCount) rootMoves = Arrays.copyOf(moves, defenseCount);
+		return -1;
 	}
 
 	public int minimaxEvalRoot(GomokuBoard board)
@@ -146,88 +852,349 @@ public class AI_Elagage extends PlayerController
 	}
 
 	public Coords play(GomokuBoard board, Player player)
+	{
+		long startTime = System.nanoTime();
+		SearchStats stats;
+		EvaluationVariable meilleurCoup = finishPondering(board, player);
+		if (meilleurCoup != null)
+		{ // L'adversaire a joué le coup prévu : la réflexion anticipée a cherché cette position
+			stats = ponderStats;
+			stats.setPonderHit();
+		}
+		else
+		{
+			resetCounters();
+			stats = new SearchStats(threadCount);
+			deadline = timeBudgetMillis > 0 ? startTime + timeBudgetMillis * 1_000_000 : 0;
+			iterationDeadline = iterationBudgetMillis > 0 ? startTime + iterationBudgetMillis * 1_000_000 : 0;
+			meilleurCoup = findMove(board, player, stats, true);
+		}
+
+		stats.setCounters(nodesVisited, nodesPruned, transpositionProbes, transpositionHits, cutoffsByPly);
+		stats.setResearches(pvsResearches, aspirationResearches);
+		stats.setCacheHits(cacheHits);
+		stats.setResult(meilleurCoup.coords, meilleurCoup.evaluationScore, System.nanoTime() - startTime);
+		stats.setPrincipalVariation(principalVariation(board, player, meilleurCoup.coords, Math.max(1, stats.getDepthReached())));
+		lastSearchStats = stats;
+		if (statsListener != null) statsListener.accept(stats);
+
+		if (isPondering) startPondering(board, player, board.index(meilleurCoup.coords.column, meilleurCoup.coords.row));
+		return meilleurCoup.coords;
+	}
+
+	private void resetCounters()
 	{
 		nodesVisited = 0;
 		nodesPruned = 0;
+		transpositionProbes = 0;
+		transpositionHits = 0;
+		cacheHits = 0;
+		pvsResearches = 0;
+		aspirationResearches = 0;
+		Arrays.fill(cutoffsByPly, 0);
+	}
 
-		EvaluationVariable meilleurCoup = minimaxAlphaBeta(board, this.minimaxDepth, true, this.playerColor, Integer.MIN_VALUE, Integer.MAX_VALUE);
-		System.out.println("AI_Elagage depth=" + this.minimaxDepth + " nodesVisited=" + nodesVisited + " nodesPruned=" + nodesPruned + " chosen=" + meilleurCoup.coords + " score=" + meilleurCoup.evaluationScore);
+	/**
+	 * Lancer la réflexion anticipée sur la position qui suit un coup
+	 *
+	 * @param board Plateau avant le coup (il n'est pas modifié)
+	 * @param player Joueur qui joue le coup
+	 * @param cell Index de la case du coup joué
+	 */
+	private void startPondering(GomokuBoard board, Player player, int cell)
+	{
+		GomokuBoard ponderBoard = board.clone();
+		ponderBoard.play(cell, player == Player.White ? GomokuBoard.WHITE : GomokuBoard.BLACK);
+		if (ponderBoard.isWinningMove(cell) || ponderBoard.isFull()) return; // Partie finie
 
-		return meilleurCoup.coords;
+		ponderStopRequested = false;
+		ponderKey = 0;
+		ponderResult = null;
+		ponderThread = new Thread(() -> ponder(ponderBoard, player), "ponder");
+		ponderThread.setDaemon(true);
+		ponderThread.start();
 	}
 
+	/**
+	 * Corps du thread de réflexion anticipée : prévoir la réponse de l'adversaire, puis chercher le coup
+	 * qui y répond sans limite de temps, jusqu'à la profondeur maximale ou jusqu'à l'arrêt demandé
+	 *
+	 * @param board Plateau après notre coup, c'est à l'adversaire de jouer
+	 * @param player Notre couleur
+	 */
+	private void ponder(GomokuBoard board, Player player)
+	{
+		Player opponent = player == Player.White ? Player.Black : Player.White;
+		deadline = 0;
+		iterationDeadline = 0;
+		searchAborted = false;
 
-	public int evaluateBoard(GomokuBoard board) {
-		int[][] directions = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
-		int score = 0;
+		int reply = predictReply(board, opponent);
+		if (reply == -1 || ponderStopRequested) return;
 
-		// Score pour chaque joueur
-		score += evaluateLines(board, TileState.White, directions);
-		score -= evaluateLines(board, TileState.Black, directions);
+		board.play(reply, opponent == Player.White ? GomokuBoard.WHITE : GomokuBoard.BLACK);
+		if (board.isWinningMove(reply) || board.isFull()) return;
 
-		return score;
+		resetCounters(); // Les mesures ne comptent que la recherche de notre coup
+		ponderStats = new SearchStats(1);
+		ponderStartTime = System.nanoTime();
+		ponderKey = TranspositionTable.keyOf(board, player);
+		ponderResult = findMove(board, player, ponderStats, false);
 	}
 
-	private int evaluateLines(GomokuBoard board, TileState tile, int[][] directions) {
-		int score = 0;
-		int size = GomokuBoard.size;
-		int center = size / 2;
+	/**
+	 * Prévoir la réponse de l'adversaire : meilleur coup de la table de transposition s'il y figure
+	 * (la recherche de notre coup a exploré cette position), sinon recherche à faible profondeur
+	 *
+	 * @return Index de la case prévue, -1 si la recherche a été arrêtée
+	 */
+	private int predictReply(GomokuBoard board, Player opponent)
+	{
+		long entry = transpositionTable.probe(TranspositionTable.keyOf(board, opponent));
+		int move = entry != 0 ? TranspositionTable.moveOf(entry) : -1;
+		if (move >= 0 && move < board.getCellCount() && board.getCode(move) == GomokuBoard.EMPTY) return move;
 
-		// Définir le carré central 5x5
-		int centerStart = center - 2; // start=5 pour size=15
-		int centerEnd = center + 2;   // end=9 pour size=15
+		rootMoves = null;
+		searchTree(board, Math.min(2, minimaxDepth), opponent == Player.White, opponent, Integer.MIN_VALUE, Integer.MAX_VALUE);
+		return searchAborted ? -1 : searchBestMove;
+	}
 
-		for (int row = 0; row < size; row++) {
-			for (int col = 0; col < size; col++) {
-				for (int[] dir : directions) {
-					int count = 0;
-					int r = row, c = col;
+	/**
+	 * Terminer la réflexion anticipée au début d'un coup. Si la position est celle qui était prévue,
+	 * la recherche continue jusqu'à la fin du temps du coup, compté depuis son début ; sinon elle est arrêtée.
+	 *
+	 * @param board Plateau de jeu
+	 * @param player Joueur qui doit jouer
+	 * @return Résultat de la réflexion si la position avait été prévue, null sinon
+	 */
+	private EvaluationVariable finishPondering(GomokuBoard board, Player player)
+	{
+		if (ponderThread == null) return null;
 
-					while (r >= 0 && r < size && c >= 0 && c < size && board.get(new Coords(r, c)) == tile) {
-						count++;
-						r += dir[0];
-						c += dir[1];
-					}
+		boolean isHit = ponderKey != 0 && ponderKey == TranspositionTable.keyOf(board, player);
+		if (!isHit) ponderStopRequested = true;
+		else
+		{
+			if (iterationBudgetMillis > 0) iterationDeadline = ponderStartTime + iterationBudgetMillis * 1_000_000;
+			if (timeBudgetMillis > 0) deadline = ponderStartTime + timeBudgetMillis * 1_000_000;
+		}
+		joinPonderThread();
+		return isHit ? ponderResult : null;
+	}
 
-					if (count > 0) {
-						boolean open1 = false, open2 = false;
+	private void joinPonderThread()
+	{
+		try
+		{
+			ponderThread.join();
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+		ponderThread = null;
+		ponderStopRequested = false; // La demande d'arrêt ne vaut que pour la réflexion terminée, pas pour la recherche suivante
+	}
 
-						int beforeR = row - dir[0], beforeC = col - dir[1];
-						if (beforeR >= 0 && beforeR < size && beforeC >= 0 && beforeC < size &&
-								board.get(new Coords(beforeR, beforeC)) == TileState.Empty) {
-							open1 = true;
-						}
+	/**
+	 * Choisir un coup : bibliothèque d'ouvertures, puis recherche de menaces, puis approfondissement itératif
+	 *
+	 * @param stats Mesures de la recherche, complétées par chaque itération
+	 * @param allowParallel false pour chercher sur un seul thread (réflexion anticipée)
+	 * @return Coup choisi et son score
+	 */
+	private EvaluationVariable findMove(GomokuBoard board, Player player, SearchStats stats, boolean allowParallel)
+	{
+		// Ouverture : coup de la bibliothèque si la position y figure, centre du plateau s'il est vide
+		int bookMove = openingBook != null ? openingBook.lookup(board, player) : -1;
+		if (bookMove != -1) return new EvaluationVariable(board.toCoords(bookMove), 0);
+		if (board.getStoneCount() == 0) return new EvaluationVariable(new Coords(board.getSize() / 2, board.getSize() / 2), 0);
+		adaptToBoardSize(board);
 
-						int afterR = row + count * dir[0], afterC = col + count * dir[1];
-						if (afterR >= 0 && afterR < size && afterC >= 0 && afterC < size &&
-								board.get(new Coords(afterR, afterC)) == TileState.Empty) {
-							open2 = true;
-						}
+		// Les scores sont du point de vue des blancs : les blancs maximisent, les noirs minimisent
+		boolean isMaximizingPlayer = player == Player.White;
+		searchAborted = false;
+		rootKey = TranspositionTable.keyOf(board, player);
+		rootBestMove = -1;
+		rootMoves = null;
 
-						if (!open1 && !open2 && count < 5) continue;
-
-						int baseScore = switch (count) {
-							case 5 -> Integer.MAX_VALUE; // victoire
-							case 4 -> (open1 && open2) ? 10000 : 5000;
-							case 3 -> (open1 && open2) ? 500 : 100;
-							case 2 -> (open1 && open2) ? 50 : 10;
-							default -> 1; // 1 pion seul
-						};
-
-						// Bonus centralité avec carré 5x5
-						int centralityBonus;
-						if (row >= centerStart && row <= centerEnd && col >= centerStart && col <= centerEnd) {
-							centralityBonus = 10; // carré central
-						} else {
-							int distance = Math.max(Math.abs(row - center), Math.abs(col - center));
-							centralityBonus = Math.max(0, 10 - distance); // décroissance rapide
-						}
+		// Pré-passe tactique : une victoire forcée par menaces se trouve bien plus vite qu'avec l'alpha-bêta
+		int threatMove = solveThreats(board, player);
+		if (threatMove != -1) return new EvaluationVariable(board.toCoords(threatMove), isMaximizingPlayer ? WIN_SCORE : -WIN_SCORE);
 
-						score += baseScore + centralityBonus;
-					}
-				}
+		// Les killers ne valent que pour la position courante, l'historique est atténué d'un coup sur l'autre
+		for (int[] killers : killerMoves)
+		{
+			killers[0] = -1;
+			killers[1] = -1;
+		}
+		for (int cell = 0; cell < history.length; cell++)
+		{
+			history[cell] >>= 1;
+		}
+
+		// Approfondissement itératif : profondeur 1, 2, 3... jusqu'à minimaxDepth ou jusqu'à épuisement du temps
+		// Les coups et scores restent des entiers pendant la recherche, convertis en coordonnées seulement à la fin
+		int bestMove = -1;
+		int bestScore = 0;
+		boolean isParallel = allowParallel && threadCount > 1 && board.getStoneCount() > 1 && board.getCandidateCount() > 1;
+		if (isParallel) prepareHelpers();
+		boolean hasPrevious = false; // Score de l'avant-dernière itération, dont la profondeur a la même parité
+		int previousScore = 0;
+		boolean hasLast = false;
+		int lastScore = 0;
+		for (int depth = 1; depth <= this.minimaxDepth; depth++)
+		{
+			long iterationStart = System.nanoTime();
+			if (depth > 1 && iterationDeadline != 0 && iterationStart >= iterationDeadline) break; // Trop tard pour une itération de plus
+
+			long iterationNodes = nodesVisited;
+			int score = searchRoot(board, depth, isMaximizingPlayer, player, isParallel, hasPrevious, previousScore);
+			hasPrevious = hasLast;
+			previousScore = lastScore;
+			stats.addIteration(depth, nodesVisited - iterationNodes, System.nanoTime() - iterationStart, !searchAborted);
+			if (searchAborted) break; // Itération interrompue : garder le résultat de la précédente
+
+			bestMove = searchBestMove;
+			bestScore = score;
+			hasLast = true;
+			lastScore = score;
+			rootBestMove = bestMove;
+			if (Math.abs(score) >= WIN_SCORE) break; // Issue forcée trouvée, inutile d'aller plus loin
+		}
+
+		if (bestMove == -1)
+		{ // Même la profondeur 1 n'a pas pu être terminée à temps : la terminer sans limite
+			isUninterruptible = true;
+			searchAborted = false;
+			long iterationStart = System.nanoTime();
+			long iterationNodes = nodesVisited;
+			try
+			{
+				bestScore = searchTree(board, 1, isMaximizingPlayer, player, Integer.MIN_VALUE, Integer.MAX_VALUE);
+			}
+			finally
+			{
+				isUninterruptible = false;
 			}
+			bestMove = searchBestMove;
+			stats.addIteration(1, nodesVisited - iterationNodes, System.nanoTime() - iterationStart, true);
 		}
-		return score;
+
+		return new EvaluationVariable(bestMove != -1 ? board.toCoords(bestMove) : new Coords(), bestScore);
+	}
+
+	/**
+	 * Chercher la racine à une profondeur avec une fenêtre d'aspiration : une fenêtre étroite autour du score
+	 * de l'itération précédente coupe davantage. Si le score en sort, la fenêtre est élargie de ce côté
+	 * et la racine est cherchée à nouveau.
+	 *
+	 * @param isParallel true pour répartir la racine entre les IA auxiliaires
+	 * @param hasPrevious false pour chercher avec une fenêtre complète
+	 * @param previousScore Score de l'itération de même parité précédente, centre de la fenêtre
+	 * @return Score de la racine ; le meilleur coup est dans searchBestMove
+	 */
+	private int searchRoot(GomokuBoard board, int depth, boolean isMaximizingPlayer, Player player, boolean isParallel, boolean hasPrevious, int previousScore)
+	{
+		int alpha = Integer.MIN_VALUE;
+		int beta = Integer.MAX_VALUE;
+		int lowWindow = ASPIRATION_WINDOW;
+		int highWindow = ASPIRATION_WINDOW;
+		if (hasPrevious && Math.abs(previousScore) < WIN_SCORE)
+		{
+			alpha = previousScore - lowWindow;
+			beta = previousScore + highWindow;
+		}
+
+		while (true)
+		{
+			int score = (isParallel && depth > 1)
+					? searchRootParallel(board, depth, isMaximizingPlayer, player, alpha, beta)
+					: searchTree(board, depth, isMaximizingPlayer, player, alpha, beta);
+			if (searchAborted) return score;
+
+			boolean failLow = score <= alpha && alpha != Integer.MIN_VALUE;
+			boolean failHigh = score >= beta && beta != Integer.MAX_VALUE;
+			if (failLow)
+			{ // Echec bas : le score réel est inférieur ou égal, élargir la fenêtre vers le bas
+				lowWindow *= ASPIRATION_GROWTH;
+				alpha = lowWindow > ASPIRATION_LIMIT ? Integer.MIN_VALUE : previousScore - lowWindow;
+			}
+			else if (failHigh)
+			{ // Echec haut : élargir la fenêtre vers le haut
+				highWindow *= ASPIRATION_GROWTH;
+				beta = highWindow > ASPIRATION_LIMIT ? Integer.MAX_VALUE : previousScore + highWindow;
+			}
+			else return score;
+			aspirationResearches++;
+
+			// Le coup qui a dépassé la fenêtre en faveur du joueur est sûr d'être meilleur : le chercher en premier
+			if ((isMaximizingPlayer ? failHigh : failLow) && searchBestMove != -1) rootBestMove = searchBestMove;
+		}
+	}
+
+	/**
+	 * Reconstituer la variation principale : le coup choisi, puis les meilleurs coups enregistrés
+	 * dans la table de transposition pour les positions qui le suivent. Elle s'arrête plus tôt
+	 * si l'entrée d'une de ces positions a été remplacée pendant la recherche.
+	 *
+	 * @param board Plateau de jeu, restauré à la fin
+	 * @param player Joueur qui doit jouer
+	 * @param move Coup choisi
+	 * @param maxLength Nombre maximum de coups de la variation
+	 * @return Coups de la variation, en commençant par le coup choisi
+	 */
+	private Coords[] principalVariation(GomokuBoard board, Player player, Coords move, int maxLength)
+	{
+		List<Coords> variation = new ArrayList<>();
+		int cell = board.areCoordsValid(move) ? board.index(move.column, move.row) : -1;
+		while (cell >= 0 && cell < board.getCellCount() && board.getCode(cell) == GomokuBoard.EMPTY)
+		{
+			variation.add(board.toCoords(cell));
+			board.play(cell, player == Player.White ? GomokuBoard.WHITE : GomokuBoard.BLACK);
+			if (board.isWinningMove(cell) || board.isFull() || variation.size() >= maxLength) break;
+
+			player = player == Player.White ? Player.Black : Player.White;
+			long entry = transpositionTable.probe(TranspositionTable.keyOf(board, player));
+			cell = entry != 0 ? TranspositionTable.moveOf(entry) : -1;
+		}
+
+		for (int i = 0; i < variation.size(); i++)
+		{
+			board.undo();
+		}
+		return variation.toArray(new Coords[0]);
+	}
+
+	/**
+	 * Obtenir les mesures de la dernière recherche
+	 *
+	 * @return Mesures du dernier coup joué, null si aucun coup n'a encore été joué
+	 */
+	public SearchStats getLastSearchStats()
+	{
+		return lastSearchStats;
+	}
+
+	/**
+	 * Recevoir les mesures de chaque recherche, à la fin de chaque coup
+	 *
+	 * @param statsListener Fonction appelée avec les mesures de chaque coup, null pour aucune
+	 */
+	@Override
+	public void setStatsListener(Consumer<SearchStats> statsListener)
+	{
+		this.statsListener = statsListener;
+	}
+
+	public int evaluateBoard(GomokuBoard board)
+	{
+		return IncrementalEvaluator.evaluate(board);
+	}
+
+	@Override
+	public String toString()
+	{
+		return "AI_Elagage(profondeur=" + minimaxDepth + ", temps=" + timeBudgetMillis + " ms, threads=" + threadCount + (isPondering ? ", anticipation" : "") + ")";
 	}
 }
\ No newline at end of file
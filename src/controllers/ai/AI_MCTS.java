@@ -0,0 +1,692 @@
+package controllers.ai;
+
+import controllers.PlayerController;
+import gamecore.Coords;
+import gamecore.GomokuBoard;
+import gamecore.enums.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * IA par recherche arborescente Monte-Carlo (MCTS) avec la formule UCT.
+ * <p>
+ * Chaque simulation descend l'arbre en choisissant à chaque noeud l'enfant qui maximise UCT, l'étend s'il a été
+ * assez visité, puis termine la partie au hasard (partie simulée) sur la copie du plateau propre à chaque thread :
+ * les parties simulées ne créent aucun objet. Le hasard est corrigé par deux règles tactiques, gagner quand c'est
+ * possible, sinon parer une victoire adverse immédiate, et par le tri des coups de l'IA Elagage : seules les
+ * meilleures cases deviennent des enfants, et chaque coup simulé est le meilleur de quelques cases tirées au hasard.
+ * <p>
+ * Plusieurs threads partagent le même arbre ; une perte virtuelle ajoutée aux noeuds en cours de simulation
+ * les écarte des autres threads jusqu'à la remontée du résultat. Le sous-arbre du coup joué puis du coup
+ * de l'adversaire est gardé pour le coup suivant.
+ */
+public class AI_MCTS extends PlayerController implements ConfigurableAI
+{
+	/**
+	 * Nombre de simulations par coup quand ni nombre de simulations ni temps ne sont fixés
+	 */
+	public static final int DEFAULT_PLAYOUTS = 20_000;
+
+	/**
+	 * Constante d'exploration de la formule UCT
+	 */
+	private static final double EXPLORATION = 0.8;
+
+	/**
+	 * Nombre de visites d'un noeud avant que ses enfants soient créés
+	 */
+	private static final int EXPANSION_VISITS = 8;
+
+	/**
+	 * Nombre maximum d'enfants d'un noeud, choisis parmi les cases candidates selon le tri de l'IA Elagage
+	 */
+	private static final int MAX_CHILDREN = 16;
+
+	/**
+	 * Nombre de cases candidates tirées au hasard à chaque coup d'une partie simulée, la mieux placée étant jouée
+	 */
+	private static final int PLAYOUT_SAMPLES = 3;
+
+	/**
+	 * Nombre maximum de cases gagnantes suivies par couleur pendant une partie simulée
+	 */
+	private static final int MAX_THREATS = 64;
+
+	/**
+	 * Noeud de l'arbre : position obtenue en jouant {@code move}.
+	 * Les résultats sont comptés en demi-points (victoire 2, nulle 1) du point de vue du joueur qui a joué {@code move}.
+	 */
+	private static final class Node
+	{
+		final int move;
+		final byte code;
+		volatile Node[] children;
+		volatile int visits;
+		volatile int virtualLosses;
+		volatile long halfPoints;
+
+		Node(int move, byte code)
+		{
+			this.move = move;
+			this.code = code;
+		}
+
+		synchronized void addVirtualLoss()
+		{
+			virtualLosses++;
+		}
+
+		synchronized void update(int points)
+		{
+			virtualLosses--;
+			visits++;
+			halfPoints += points;
+		}
+	}
+
+	/**
+	 * Thread de recherche : copie du plateau et tableaux de travail, réutilisés d'une simulation à l'autre
+	 */
+	private static final class Worker
+	{
+		GomokuBoard board;
+		Node[] path = new Node[0];
+		int[] candidates = new int[0];
+		int[] scores = new int[0];
+		final int[][] threats = new int[2][MAX_THREATS];
+		final int[] threatCounts = new int[2];
+		long random;
+		long playouts;
+		int maxDepth;
+
+		Worker(long seed)
+		{
+			random = seed | 1;
+		}
+
+		void prepare(GomokuBoard root)
+		{
+			board = root.clone();
+			if (path.length != board.getCellCount() + 1)
+			{
+				path = new Node[board.getCellCount() + 1];
+				candidates = new int[board.getCellCount()];
+				scores = new int[board.getCellCount()];
+			}
+			playouts = 0;
+			maxDepth = 0;
+		}
+
+		/**
+		 * Tirer un entier entre 0 (inclus) et bound (exclu), générateur xorshift
+		 */
+		int nextInt(int bound)
+		{
+			random ^= random << 13;
+			random ^= random >>> 7;
+			random ^= random << 17;
+			return (int) (((random >>> 32) * bound) >>> 32);
+		}
+	}
+
+	private final long timeBudgetMillis;
+	private final int playoutBudget;
+	private final int threadCount;
+	private ForkJoinPool pool;
+	private final List<Worker> workers = new ArrayList<>();
+
+	/**
+	 * Instant (System.nanoTime) auquel la recherche en cours doit s'arrêter, 0 si aucun ;
+	 * nombre de simulations commencées pendant la recherche en cours
+	 */
+	private volatile long deadline;
+	private final AtomicLong playoutsStarted = new AtomicLong();
+	private long playoutLimit;
+
+	/**
+	 * Racine de l'arbre gardé entre deux coups et copie du plateau correspondant, null si aucun
+	 */
+	private Node root;
+	private GomokuBoard treeBoard;
+
+	/**
+	 * Bibliothèque d'ouvertures consultée avant toute recherche, null si aucune
+	 */
+	private OpeningBook openingBook;
+
+	/**
+	 * Mesures de la dernière recherche, et fonction qui les reçoit à la fin de chaque coup
+	 */
+	private SearchStats lastSearchStats;
+	private Consumer<SearchStats> statsListener;
+
+	/**
+	 * @param playoutBudget Nombre de simulations par coup (0 = sans limite)
+	 * @param timeBudgetMillis Temps maximal de réflexion par coup en millisecondes (0 = sans limite)
+	 * @param threadCount Nombre de threads partageant l'arbre
+	 */
+	public AI_MCTS(int playoutBudget, long timeBudgetMillis, int threadCount)
+	{
+		if (playoutBudget < 0 || timeBudgetMillis < 0)
+			throw new IllegalArgumentException("Le nombre de simulations et le temps par coup ne peuvent pas être négatifs.");
+
+		this.playoutBudget = playoutBudget;
+		this.timeBudgetMillis = timeBudgetMillis;
+		this.threadCount = Math.max(1, threadCount);
+		for (int i = 0; i < this.threadCount; i++)
+		{
+			workers.add(new Worker(0x9E3779B97F4A7C15L * (i + 1)));
+		}
+	}
+
+	public AI_MCTS(long timeBudgetMillis)
+	{
+		this(0, timeBudgetMillis, 1);
+	}
+
+	/**
+	 * Utiliser une bibliothèque d'ouvertures
+	 *
+	 * @param openingBook Bibliothèque consultée avant toute recherche, null pour n'en utiliser aucune
+	 */
+	@Override
+	public void setOpeningBook(OpeningBook openingBook)
+	{
+		this.openingBook = openingBook;
+	}
+
+	@Override
+	public void gameOver()
+	{
+		newGame();
+		if (pool != null)
+		{ // Les threads des simulations ne survivent pas à la partie ; une nouvelle recherche les recrée
+			pool.shutdown();
+			pool = null;
+		}
+	}
+
+	/**
+	 * Oublier l'arbre gardé depuis le coup précédent
+	 */
+	public void newGame()
+	{
+		root = null;
+		treeBoard = null;
+	}
+
+	@Override
+	public Coords play(GomokuBoard board, Player player)
+	{
+		long startTime = System.nanoTime();
+		SearchStats stats = new SearchStats(threadCount);
+		byte code = player == Player.White ? GomokuBoard.WHITE : GomokuBoard.BLACK;
+
+		int move = openingBook != null ? openingBook.lookup(board, player) : -1;
+		if (move == -1 && board.getStoneCount() == 0) move = board.index(board.getSize() / 2, board.getSize() / 2);
+		Node chosen = null;
+		if (move == -1)
+		{
+			chosen = search(board, code, stats);
+			move = chosen.move;
+		}
+
+		// Garder le sous-arbre du coup joué pour le coup suivant
+		if (chosen != null)
+		{
+			treeBoard.play(move, code);
+			root = chosen;
+		}
+		else newGame();
+
+		int score = 0;
+		if (chosen != null && chosen.visits > 0)
+		{ // Taux de victoire du coup ramené entre -1000 et 1000, positif quand les blancs mènent
+			score = (int) Math.round((chosen.halfPoints / (double) chosen.visits - 1) * 1000);
+			if (code == GomokuBoard.BLACK) score = -score;
+		}
+		stats.setResult(board.toCoords(move), score, System.nanoTime() - startTime);
+		lastSearchStats = stats;
+		if (statsListener != null) statsListener.accept(stats);
+
+		return board.toCoords(move);
+	}
+
+	/**
+	 * Lancer les simulations depuis la position, en reprenant l'arbre du coup précédent s'il y mène
+	 *
+	 * @param code Couleur du joueur qui doit jouer
+	 * @param stats Mesures de la recherche
+	 * @return Enfant de la racine le plus visité
+	 */
+	private Node search(GomokuBoard board, byte code, SearchStats stats)
+	{
+		reuseTree(board, code);
+
+		long startTime = System.nanoTime();
+		deadline = timeBudgetMillis > 0 ? startTime + timeBudgetMillis * 1_000_000 : 0;
+		playoutLimit = playoutBudget > 0 ? playoutBudget : timeBudgetMillis > 0 ? Long.MAX_VALUE : DEFAULT_PLAYOUTS;
+		playoutsStarted.set(0);
+		for (Worker worker : workers)
+		{
+			worker.prepare(treeBoard);
+		}
+
+		if (threadCount == 1) runWorker(workers.get(0));
+		else
+		{
+			if (pool == null) pool = new ForkJoinPool(threadCount);
+			List<Callable<Void>> tasks = new ArrayList<>();
+			for (Worker worker : workers)
+			{
+				tasks.add(() -> {
+					runWorker(worker);
+					return null;
+				});
+			}
+			pool.invokeAll(tasks);
+		}
+
+		long playouts = 0;
+		int maxDepth = 0;
+		for (Worker worker : workers)
+		{
+			playouts += worker.playouts;
+			maxDepth = Math.max(maxDepth, worker.maxDepth);
+		}
+		stats.addIteration(maxDepth, playouts, System.nanoTime() - startTime, true);
+		stats.setCounters(playouts, 0, 0, 0, new long[0]);
+
+		Node best = mostVisited(root);
+		stats.setPrincipalVariation(principalVariation(best));
+		return best;
+	}
+
+	/**
+	 * Reprendre l'arbre gardé si la position est celle du coup précédent suivie d'un coup de l'adversaire,
+	 * sinon partir d'un arbre vide
+	 */
+	private void reuseTree(GomokuBoard board, byte code)
+	{
+		if (root != null && treeBoard.getSize() == board.getSize() && board.getStoneCount() == treeBoard.getStoneCount() + 1)
+		{
+			Coords last = board.getLastMove();
+			int cell = board.areCoordsValid(last) ? board.index(last.column, last.row) : -1;
+			Node[] children = root.children;
+			if (cell != -1 && children != null && treeBoard.getCode(cell) == GomokuBoard.EMPTY)
+			{
+				treeBoard.play(cell, opponentOf(code));
+				if (treeBoard.getZobristKey() == board.getZobristKey())
+				{
+					for (Node child : children)
+					{
+						if (child.move == cell)
+						{
+							root = child;
+							return;
+						}
+					}
+					root = new Node(cell, opponentOf(code)); // Coup de l'adversaire jamais envisagé
+					return;
+				}
+			}
+		}
+
+		treeBoard = board.clone();
+		Coords last = board.getLastMove();
+		root = new Node(board.areCoordsValid(last) ? board.index(last.column, last.row) : -1, opponentOf(code));
+	}
+
+	/**
+	 * Enchaîner les simulations jusqu'à épuisement du nombre de simulations ou du temps
+	 */
+	private void runWorker(Worker worker)
+	{
+		while (playoutsStarted.getAndIncrement() < playoutLimit)
+		{
+			simulate(worker);
+			worker.playouts++;
+			if (deadline != 0 && System.nanoTime() >= deadline) break;
+		}
+	}
+
+	/**
+	 * Faire une simulation : descente dans l'arbre, extension, partie simulée puis remontée du résultat
+	 */
+	private void simulate(Worker worker)
+	{
+		GomokuBoard board = worker.board;
+		Node[] path = worker.path;
+		int length = 0;
+		Node node = root;
+		node.addVirtualLoss();
+		path[length++] = node;
+
+		byte winner = -1;
+		while (true)
+		{
+			Node[] children = node.children;
+			if (children == null)
+			{
+				if (node != root && node.visits < EXPANSION_VISITS) break;
+				synchronized (node)
+				{
+					if (node.children == null) node.children = expand(worker, opponentOf(node.code));
+					children = node.children;
+				}
+			}
+			if (children.length == 0)
+			{ // Plateau plein : partie nulle
+				winner = GomokuBoard.EMPTY;
+				break;
+			}
+
+			node = select(node, children);
+			node.addVirtualLoss();
+			path[length++] = node;
+			board.play(node.move, node.code);
+			if (board.isWinningMove(node.move))
+			{
+				winner = node.code;
+				break;
+			}
+		}
+		worker.maxDepth = Math.max(worker.maxDepth, length - 1);
+
+		if (winner == -1) winner = playout(worker, opponentOf(node.code));
+
+		for (int i = length - 1; i >= 0; i--)
+		{
+			Node visited = path[i];
+			visited.update(winner == GomokuBoard.EMPTY ? 1 : winner == visited.code ? 2 : 0);
+			if (i > 0) board.undo();
+		}
+	}
+
+	/**
+	 * Choisir l'enfant qui maximise UCT ; les pertes virtuelles comptent comme des visites perdues
+	 */
+	private static Node select(Node parent, Node[] children)
+	{
+		double logVisits = Math.log(Math.max(1, parent.visits + parent.virtualLosses));
+		Node best = children[0];
+		double bestValue = Double.NEGATIVE_INFINITY;
+		for (Node child : children)
+		{
+			int visits = child.visits + child.virtualLosses;
+			if (visits == 0) return child; // Enfant jamais essayé
+
+			double value = child.halfPoints / (2.0 * visits) + EXPLORATION * Math.sqrt(logVisits / visits);
+			if (value > bestValue)
+			{
+				bestValue = value;
+				best = child;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Créer les enfants d'un noeud : le coup gagnant s'il y en a un, sinon les parades d'une victoire adverse
+	 * immédiate s'il y en a, sinon les MAX_CHILDREN meilleures cases candidates
+	 *
+	 * @param code Couleur du joueur qui doit jouer dans la position du noeud
+	 */
+	private static Node[] expand(Worker worker, byte code)
+	{
+		GomokuBoard board = worker.board;
+		int[] candidates = worker.candidates;
+		int count = board.getCandidates(candidates);
+
+		for (int i = 0; i < count; i++)
+		{
+			if (isWinningCell(board, candidates[i], code)) return new Node[] { new Node(candidates[i], code) };
+		}
+
+		int blocks = 0;
+		for (int i = 0; i < count; i++)
+		{
+			if (isWinningCell(board, candidates[i], opponentOf(code))) candidates[blocks++] = candidates[i];
+		}
+		if (blocks > 0) count = blocks;
+		else if (count > MAX_CHILDREN)
+		{ // Sélection partielle des meilleures cases, dans l'ordre décroissant
+			int[] scores = worker.scores;
+			for (int i = 0; i < count; i++)
+			{
+				scores[i] = moveScore(board, candidates[i], code);
+			}
+			for (int i = 0; i < MAX_CHILDREN; i++)
+			{
+				int best = i;
+				for (int j = i + 1; j < count; j++)
+				{
+					if (scores[j] > scores[best]) best = j;
+				}
+				int cell = candidates[best];
+				candidates[best] = candidates[i];
+				candidates[i] = cell;
+				scores[best] = scores[i];
+			}
+			count = MAX_CHILDREN;
+		}
+
+		Node[] children = new Node[count];
+		for (int i = 0; i < count; i++)
+		{
+			children[i] = new Node(candidates[i], code);
+		}
+		return children;
+	}
+
+	/**
+	 * Terminer la partie au hasard, sur le plateau du thread qui est restauré à la fin
+	 *
+	 * @param code Couleur du joueur qui doit jouer
+	 * @return Couleur du gagnant, EMPTY si la partie est nulle
+	 */
+	private static byte playout(Worker worker, byte code)
+	{
+		GomokuBoard board = worker.board;
+		int[] candidates = worker.candidates;
+		collectThreats(worker);
+
+		int moves = 0;
+		byte winner = GomokuBoard.EMPTY;
+		while (!board.isFull())
+		{
+			int cell = nextThreat(worker, code); // Gagner
+			if (cell == -1) cell = nextThreat(worker, opponentOf(code)); // Sinon parer
+			if (cell == -1)
+			{ // Sinon la mieux placée de quelques cases tirées au hasard
+				int count = board.getCandidates(candidates);
+				int bestScore = -1;
+				for (int i = 0; i < PLAYOUT_SAMPLES; i++)
+				{
+					int sample = candidates[worker.nextInt(count)];
+					int score = moveScore(board, sample, code);
+					if (score > bestScore)
+					{
+						bestScore = score;
+						cell = sample;
+					}
+				}
+			}
+
+			board.play(cell, code);
+			moves++;
+			if (board.isWinningMove(cell))
+			{
+				winner = code;
+				break;
+			}
+			addThreats(worker, cell, code);
+			code = opponentOf(code);
+		}
+
+		for (int i = 0; i < moves; i++)
+		{
+			board.undo();
+		}
+		return winner;
+	}
+
+	/**
+	 * Relever les cases gagnantes de chaque couleur parmi les cases candidates, au début d'une partie simulée
+	 */
+	private static void collectThreats(Worker worker)
+	{
+		GomokuBoard board = worker.board;
+		int[] candidates = worker.candidates;
+		int count = board.getCandidates(candidates);
+		worker.threatCounts[0] = 0;
+		worker.threatCounts[1] = 0;
+		for (int i = 0; i < count; i++)
+		{
+			if (isWinningCell(board, candidates[i], GomokuBoard.WHITE)) addThreat(worker, candidates[i], GomokuBoard.WHITE);
+			if (isWinningCell(board, candidates[i], GomokuBoard.BLACK)) addThreat(worker, candidates[i], GomokuBoard.BLACK);
+		}
+	}
+
+	/**
+	 * Ajouter les cases devenues gagnantes pour une couleur après une pièce posée : elles sont sur les lignes
+	 * de la pièce, à au plus 4 cases
+	 */
+	private static void addThreats(Worker worker, int cell, byte code)
+	{
+		GomokuBoard board = worker.board;
+		for (int direction = 0; direction < 4; direction++)
+		{
+			int line = board.getLineOf(direction, cell);
+			if (line == -1) continue;
+
+			int position = board.getPositionInLine(direction, cell);
+			int end = Math.min(board.getLineLength(line) - 1, position + 4);
+			for (int p = Math.max(0, position - 4); p <= end; p++)
+			{
+				int target = board.getLineCell(line, p);
+				if (board.getCode(target) == GomokuBoard.EMPTY && board.countAligned(target, direction, code) >= 4)
+				{
+					addThreat(worker, target, code);
+				}
+			}
+		}
+	}
+
+	private static void addThreat(Worker worker, int cell, byte code)
+	{
+		int side = code - 1;
+		if (worker.threatCounts[side] < MAX_THREATS) worker.threats[side][worker.threatCounts[side]++] = cell;
+	}
+
+	/**
+	 * Obtenir une case encore vide qui fait gagner une couleur, en retirant les cases occupées depuis
+	 *
+	 * @return Index de la case, -1 si aucune
+	 */
+	private static int nextThreat(Worker worker, byte code)
+	{
+		int side = code - 1;
+		int[] threats = worker.threats[side];
+		while (worker.threatCounts[side] > 0)
+		{
+			int cell = threats[worker.threatCounts[side] - 1];
+			if (worker.board.getCode(cell) == GomokuBoard.EMPTY) return cell;
+			worker.threatCounts[side]--;
+		}
+		return -1;
+	}
+
+	/**
+	 * Noter une case vide pour une couleur selon les pièces alignées qui la touchent, comme le tri de l'IA Elagage
+	 */
+	private static int moveScore(GomokuBoard board, int cell, byte code)
+	{
+		int score = 0;
+		for (int direction = 0; direction < 4; direction++)
+		{
+			score += AI_Elagage.ATTACK_WEIGHTS[board.countAligned(cell, direction, code)];
+			score += AI_Elagage.DEFENSE_WEIGHTS[board.countAligned(cell, direction, opponentOf(code))];
+		}
+		return score;
+	}
+
+	/**
+	 * Indiquer si une pièce d'une couleur posée sur une case vide formerait un alignement de 5
+	 */
+	private static boolean isWinningCell(GomokuBoard board, int cell, byte code)
+	{
+		for (int direction = 0; direction < 4; direction++)
+		{
+			if (board.countAligned(cell, direction, code) >= 4) return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Obtenir l'enfant le plus visité d'un noeud, null s'il n'a pas d'enfant
+	 */
+	private static Node mostVisited(Node node)
+	{
+		Node[] children = node.children;
+		if (children == null) return null;
+
+		Node best = null;
+		for (Node child : children)
+		{
+			if (best == null || child.visits > best.visits) best = child;
+		}
+		return best;
+	}
+
+	/**
+	 * Reconstituer la variation principale : le coup choisi puis, à chaque noeud, l'enfant le plus visité
+	 */
+	private Coords[] principalVariation(Node node)
+	{
+		List<Coords> variation = new ArrayList<>();
+		while (node != null && node.visits > 0)
+		{
+			variation.add(treeBoard.toCoords(node.move));
+			node = mostVisited(node);
+		}
+		return variation.toArray(new Coords[0]);
+	}
+
+	private static byte opponentOf(byte code)
+	{
+		return code == GomokuBoard.WHITE ? GomokuBoard.BLACK : GomokuBoard.WHITE;
+	}
+
+	/**
+	 * Obtenir les mesures de la dernière recherche
+	 *
+	 * @return Mesures du dernier coup joué, null si aucun coup n'a encore été joué
+	 */
+	public SearchStats getLastSearchStats()
+	{
+		return lastSearchStats;
+	}
+
+	/**
+	 * Recevoir les mesures de chaque recherche, à la fin de chaque coup. Le nombre de noeuds est celui des simulations,
+	 * et la profondeur celle de la plus longue descente dans l'arbre.
+	 *
+	 * @param statsListener Fonction appelée avec les mesures de chaque coup, null pour aucune
+	 */
+	@Override
+	public void setStatsListener(Consumer<SearchStats> statsListener)
+	{
+		this.statsListener = statsListener;
+	}
+
+	public String toString()
+	{
+		return "AI_MCTS(simulations=" + playoutBudget + ", temps=" + timeBudgetMillis + " ms, threads=" + threadCount + ")";
+	}
+}
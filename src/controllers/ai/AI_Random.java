@@ -1,360 +1,492 @@
-package controllers.ai;
-
-import controllers.PlayerController;
-import gamecore.Coords;
-import gamecore.GomokuBoard;
-import gamecore.enums.Player;
-import gamecore.enums.TileState;
-
-import java.util.ArrayList;
-import java.util.List;
-
-public class AI_Random extends PlayerController
-{
-
-	private int minimaxDepth;
-	private Player playerColor;
-
-	public AI_Random(int minimaxDepth, Player playerColor)
-	{
-		this.minimaxDepth = minimaxDepth;
-		this.playerColor = playerColor;
-	}
-
-	public AI_Random()
-	{
-		super();
-
-	}
-
-
-	public int evaluateBoard(GomokuBoard board)
-	{
-		int[][] directions = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
-		int score = 0;
-
-		// Score pour chaque joueur
-		score += evaluateLines(board, TileState.White, directions);
-		score -= evaluateLines(board, TileState.Black, directions);
-
-		return score;
-	}
-
-	private int evaluateLines(GomokuBoard board, TileState tile, int[][] directions)
-	{
-		int score = 0;
-		int size = GomokuBoard.size;
-		int center = size / 2;
-
-		// Définir le carré central 5x5
-		int centerStart = center - 2; // start=5 pour size=15
-		int centerEnd = center + 2;   // end=9 pour size=15
-
-		for (int row = 0; row < size; row++)
-		{
-			for (int col = 0; col < size; col++)
-			{
-				for (int[] dir : directions)
-				{
-					int count = 0;
-					int r = row, c = col;
-
-					while (r >= 0 && r < size && c >= 0 && c < size && board.get(new Coords(r, c)) == tile)
-					{
-						count++;
-						r += dir[0];
-						c += dir[1];
-					}
-
-					if (count > 0)
-					{
-						boolean open1 = false, open2 = false;
-
-						int beforeR = row - dir[0], beforeC = col - dir[1];
-						if (beforeR >= 0 && beforeR < size && beforeC >= 0 && beforeC < size &&
-								board.get(new Coords(beforeR, beforeC)) == TileState.Empty)
-						{
-							open1 = true;
-						}
-
-						int afterR = row + count * dir[0], afterC = col + count * dir[1];
-						if (afterR >= 0 && afterR < size && afterC >= 0 && afterC < size &&
-								board.get(new Coords(afterR, afterC)) == TileState.Empty)
-						{
-							open2 = true;
-						}
-
-						if (!open1 && !open2 && count < 5) continue;
-
-						// Attribution du score selon la longueur de la ligne
-						int baseScore = switch (count)
-						{
-							case 5 -> Integer.MAX_VALUE; // victoire
-							case 4 -> (open1 && open2) ? 10000 : 5000;
-							case 3 -> (open1 && open2) ? 500 : 100;
-							case 2 -> (open1 && open2) ? 50 : 10;
-							default -> 1; // 1 pion seul
-						};
-
-						// Bonus centralité avec carré 5x5
-						int centralityBonus;
-						if (row >= centerStart && row <= centerEnd && col >= centerStart && col <= centerEnd)
-						{
-							centralityBonus = 10; // carré central
-						}
-						else
-						{
-							int distance = Math.max(Math.abs(row - center), Math.abs(col - center));
-							centralityBonus = Math.max(0, 10 - distance); // décroissance rapide
-						}
-
-						score += baseScore + centralityBonus;
-					}
-				}
-			}
-		}
-		return score;
-	}
-
-	/*private int evaluateShapes(GomokuBoard board, TileState tile) {
-		int score = 0;
-		int size = GomokuBoard.size;
-		int center = size / 2;
-
-		int[][] directions = {
-				{0, 1},   // ➡
-				{1, 0},   // ⬇
-				{1, 1},   // ↘
-				{1, -1}   // ↙
-		};
-
-		for (int row = 1; row < size - 1; row++) {
-			for (int col = 1; col < size - 1; col++) {
-				Coords centerCoord = new Coords(row, col);
-				if (board.get(centerCoord) != TileState.Empty) continue;
-
-				//  Diagonales (X)
-				Coords[] diagonals = {
-						new Coords(row - 1, col - 1),
-						new Coords(row - 1, col + 1),
-						new Coords(row + 1, col - 1),
-						new Coords(row + 1, col + 1)
-				};
-				boolean isX = true;
-				for (Coords d : diagonals) {
-					if (board.get(d) != tile) {
-						isX = false;
-						break;
-					}
-				}
-
-				//  Côtés (+)
-				Coords[] sides = {
-						new Coords(row - 1, col),
-						new Coords(row + 1, col),
-						new Coords(row, col - 1),
-						new Coords(row, col + 1)
-				};
-				boolean isPlus = true;
-				for (Coords s : sides) {
-					if (board.get(s) != tile) {
-						isPlus = false;
-						break;
-					}
-				}
-
-				//  Côtés ouverts
-				int openSides = 0;
-				for (Coords s : sides) {
-					if (board.get(s) == TileState.Empty) {
-						openSides++;
-					}
-				}
-				if (openSides == 0) continue;
-
-				// 🔸 Bonus centralité
-				int distanceToCenter = Math.abs(row - center) + Math.abs(col - center);
-				int centralityBonus = Math.max(0, 10 - distanceToCenter);
-
-				// 🔸 Score selon forme
-				int baseShapeScore = 0;
-				if (isX && isPlus) baseShapeScore = 100 + (openSides * 10);
-				else if (isX) baseShapeScore = switch (openSides) {
-					case 1 -> 20;
-					case 2 -> 40;
-					case 3 -> 60;
-					default -> 70;
-				};
-				else if (isPlus) baseShapeScore = switch (openSides) {
-					case 1 -> 15;
-					case 2 -> 35;
-					case 3 -> 55;
-					default -> 60;
-				};
-
-				// 🔹 T
-				boolean isT = false;
-				for (int i = 0; i < 4; i++) {
-					Coords arm1 = sides[i];
-					Coords arm2 = sides[(i + 1) % 4];
-					Coords arm3 = sides[(i + 3) % 4];
-					if (board.get(arm1) == tile && board.get(arm2) == tile && board.get(arm3) == tile) {
-						isT = true;
-						break;
-					}
-				}
-				if (isT) baseShapeScore += switch (openSides) {
-					case 1 -> 20;
-					case 2 -> 40;
-					case 3 -> 60;
-					default -> 70;
-				};
-
-				// 🔹 L
-				boolean isL = false;
-				Coords[][] lShapes = {
-						{sides[0], sides[2]}, {sides[0], sides[3]},
-						{sides[1], sides[2]}, {sides[1], sides[3]}
-				};
-				for (Coords[] pair : lShapes) {
-					if (board.get(pair[0]) == tile && board.get(pair[1]) == tile) {
-						isL = true;
-						break;
-					}
-				}
-				if (isL) baseShapeScore += switch (openSides) {
-					case 1 -> 10;
-					case 2 -> 25;
-					case 3 -> 40;
-					default -> 50;
-				};
-
-				// 🔍 Analyse locale : lignes partant du centre
-				int localThreatBonus = 0;
-				for (int[] dir : directions) {
-					int r = row + dir[0], c = col + dir[1];
-					int count = 0;
-					while (r >= 0 && r < size && c >= 0 && c < size && board.get(new Coords(r, c)) == tile) {
-						count++;
-						r += dir[0];
-						c += dir[1];
-					}
-					if (count == 2) localThreatBonus += 10;
-					else if (count == 3) localThreatBonus += 30;
-				}
-
-				score += baseShapeScore + centralityBonus + localThreatBonus;
-			}
-		}
-
-		return score;
-	}*/
-
-	public Coords[] getAvailableMoves(GomokuBoard board)
-	{
-		List<Coords> moves = new ArrayList<>();
-
-		for (int row = 0; row < GomokuBoard.size; row++)
-		{
-			for (int col = 0; col < GomokuBoard.size; col++)
-			{
-				Coords c = new Coords(row, col);
-				if (board.get(c) == TileState.Empty)
-				{
-					moves.add(c);
-				}
-			}
-		}
-
-		return moves.toArray(new Coords[0]);
-	}
-
-	@Override
-	public Coords play(GomokuBoard board, Player player)
-	{
-		TileState myTile = (playerColor == Player.White) ? TileState.White : TileState.Black;
-		TileState opponentTile = (playerColor == Player.White) ? TileState.Black : TileState.White;
-		Coords[] moves = getAvailableMoves(board);
-
-		for (Coords move : moves)
-		{
-			GomokuBoard clone = board.clone();
-			clone.set(move, myTile);
-			if (clone.getWinnerState().name().equalsIgnoreCase(playerColor.name()))
-			{
-				return move; // victoire directe
-			}
-		}
-
-		for (Coords move : moves)
-		{
-			GomokuBoard clone = board.clone();
-			clone.set(move, opponentTile);
-			if (clone.getWinnerState().name().equalsIgnoreCase(
-					(playerColor == Player.White) ? "Black" : "White"))
-			{
-				return move; // bloque l’adversaire
-			}
-		}
-
-		return minimax(board, this.minimaxDepth, playerColor == Player.White, playerColor).coords;
-	}
-
-
-	public EvaluationVariable minimax(GomokuBoard board, int depth, boolean isMaximizingPlayer, Player player)
-	{
-		if (getAvailableMoves(board).length >= 224)
-		{
-			if (board.get(6, 6).equals(TileState.Empty))
-				return new EvaluationVariable(new Coords(6, 6), Integer.MAX_VALUE);
-			else
-				return new EvaluationVariable(new Coords(7, 7), Integer.MAX_VALUE);
-		}
-
-		if (depth == 0)
-		{
-			return new EvaluationVariable(new Coords(), minimaxEval(board));
-		}
-
-		Coords[] moves = getAvailableMoves(board);
-		Coords bestCoords = moves[0];
-		int bestEval = isMaximizingPlayer ? Integer.MIN_VALUE : Integer.MAX_VALUE;
-
-		for (Coords move : moves)
-		{
-			GomokuBoard clonedBoard = board.clone();
-			TileState myTile = (player == Player.White) ? TileState.White : TileState.Black;
-
-			clonedBoard.set(move, myTile);
-			Player nextPlayer = (player == Player.White) ? Player.Black : Player.White;
-			EvaluationVariable childEval = minimax(clonedBoard, depth - 1, !isMaximizingPlayer, nextPlayer);
-			childEval.coords = move;
-
-			int finalEval = childEval.evaluationScore;
-
-			if (isMaximizingPlayer)
-			{
-				if (finalEval > bestEval)
-				{
-					bestEval = finalEval;
-					bestCoords = move;
-				}
-			}
-			else
-			{
-				if (finalEval < bestEval)
-				{
-					bestEval = finalEval;
-					bestCoords = move;
-				}
-			}
-		}
-		return new EvaluationVariable(bestCoords, bestEval);
-	}
-
-
-	public int minimaxEval(GomokuBoard board)
-	{
-		return evaluateBoard(board);
-	}
-}
+package controllers.ai;
+
+import controllers.PlayerController;
+import gamecore.Coords;
+import gamecore.GomokuBoard;
+import gamecore.enums.Player;
+
+import java.util.function.Consumer;
+
+public class AI_Random extends PlayerController implements ConfigurableAI
+{
+
+	/**
+	 * Score d'une position gagnée par les blancs (l'opposé pour les noirs)
+	 */
+	private static final int WIN_SCORE = 1_000_000_000;
+
+	private int minimaxDepth;
+	private Player playerColor;
+
+	/**
+	 * Temps maximal de réflexion par coup en millisecondes, 0 pour chercher jusqu'à minimaxDepth sans limite de temps
+	 */
+	private long timeBudgetMillis;
+
+	/**
+	 * Instant (System.nanoTime) auquel la recherche en cours doit s'arrêter, 0 si aucun
+	 */
+	private long deadline;
+	private boolean searchAborted;
+	private long nodesVisited;
+
+	/**
+	 * Clé de la position racine et meilleur coup de la dernière itération terminée, cherché en premier à l'itération suivante
+	 */
+	private long rootKey;
+	private int rootBestMove = -1;
+
+	/**
+	 * Tampons des coups de la recherche (index de case), un par profondeur depuis la racine, et meilleur coup trouvé à la racine
+	 */
+	private int[][] moveBuffers = new int[0][];
+	private int searchBestMove = -1;
+
+	private final IncrementalEvaluator evaluator = new IncrementalEvaluator();
+
+	/**
+	 * Bibliothèque d'ouvertures consultée avant toute recherche, null si aucune
+	 */
+	private OpeningBook openingBook;
+
+	/**
+	 * Mesures de la dernière recherche, et fonction qui les reçoit à la fin de chaque coup
+	 */
+	private SearchStats lastSearchStats;
+	private Consumer<SearchStats> statsListener;
+
+	public AI_Random(int minimaxDepth, Player playerColor)
+	{
+		this(minimaxDepth, playerColor, 0);
+	}
+
+	/**
+	 * @param minimaxDepth Profondeur maximale de recherche
+	 * @param playerColor Couleur du joueur
+	 * @param timeBudgetMillis Temps maximal de réflexion par coup en millisecondes (0 = sans limite)
+	 */
+	public AI_Random(int minimaxDepth, Player playerColor, long timeBudgetMillis)
+	{
+		this.minimaxDepth = minimaxDepth;
+		this.playerColor = playerColor;
+		this.timeBudgetMillis = timeBudgetMillis;
+	}
+
+	public AI_Random()
+	{
+		super();
+
+	}
+
+
+	public int evaluateBoard(GomokuBoard board)
+	{
+		return IncrementalEvaluator.evaluate(board);
+	}
+
+	/*private int evaluateShapes(GomokuBoard board, TileState tile) {
+		int score = 0;
+		int size = board.getSize();
+		int center = size / 2;
+
+		int[][] directions = {
+				{0, 1},   // ➡
+				{1, 0},   // ⬇
+				{1, 1},   // ↘
+				{1, -1}   // ↙
+		};
+
+		for (int row = 1; row < size - 1; row++) {
+			for (int col = 1; col < size - 1; col++) {
+				Coords centerCoord = new Coords(row, col);
+				if (board.get(centerCoord) != TileState.Empty) continue;
+
+				//  Diagonales (X)
+				Coords[] diagonals = {
+						new Coords(row - 1, col - 1),
+						new Coords(row - 1, col + 1),
+						new Coords(row + 1, col - 1),
+						new Coords(row + 1, col + 1)
+				};
+				boolean isX = true;
+				for (Coords d : diagonals) {
+					if (board.get(d) != tile) {
+						isX = false;
+						break;
+					}
+				}
+
+				//  Côtés (+)
+				Coords[] sides = {
+						new Coords(row - 1, col),
+						new Coords(row + 1, col),
+						new Coords(row, col - 1),
+						new Coords(row, col + 1)
+				};
+				boolean isPlus = true;
+				for (Coords s : sides) {
+					if (board.get(s) != tile) {
+						isPlus = false;
+						break;
+					}
+				}
+
+				//  Côtés ouverts
+				int openSides = 0;
+				for (Coords s : sides) {
+					if (board.get(s) == TileState.Empty) {
+						openSides++;
+					}
+				}
+				if (openSides == 0) continue;
+
+				// 🔸 Bonus centralité
+				int distanceToCenter = Math.abs(row - center) + Math.abs(col - center);
+				int centralityBonus = Math.max(0, 10 - distanceToCenter);
+
+				// 🔸 Score selon forme
+				int baseShapeScore = 0;
+				if (isX && isPlus) baseShapeScore = 100 + (openSides * 10);
+				else if (isX) baseShapeScore = switch (openSides) {
+					case 1 -> 20;
+					case 2 -> 40;
+					case 3 -> 60;
+					default -> 70;
+				};
+				else if (isPlus) baseShapeScore = switch (openSides) {
+					case 1 -> 15;
+					case 2 -> 35;
+					case 3 -> 55;
+					default -> 60;
+				};
+
+				// 🔹 T
+				boolean isT = false;
+				for (int i = 0; i < 4; i++) {
+					Coords arm1 = sides[i];
+					Coords arm2 = sides[(i + 1) % 4];
+					Coords arm3 = sides[(i + 3) % 4];
+					if (board.get(arm1) == tile && board.get(arm2) == tile && board.get(arm3) == tile) {
+						isT = true;
+						break;
+					}
+				}
+				if (isT) baseShapeScore += switch (openSides) {
+					case 1 -> 20;
+					case 2 -> 40;
+					case 3 -> 60;
+					default -> 70;
+				};
+
+				// 🔹 L
+				boolean isL = false;
+				Coords[][] lShapes = {
+						{sides[0], sides[2]}, {sides[0], sides[3]},
+						{sides[1], sides[2]}, {sides[1], sides[3]}
+				};
+				for (Coords[] pair : lShapes) {
+					if (board.get(pair[0]) == tile && board.get(pair[1]) == tile) {
+						isL = true;
+						break;
+					}
+				}
+				if (isL) baseShapeScore += switch (openSides) {
+					case 1 -> 10;
+					case 2 -> 25;
+					case 3 -> 40;
+					default -> 50;
+				};
+
+				// 🔍 Analyse locale : lignes partant du centre
+				int localThreatBonus = 0;
+				for (int[] dir : directions) {
+					int r = row + dir[0], c = col + dir[1];
+					int count = 0;
+					while (r >= 0 && r < size && c >= 0 && c < size && board.get(new Coords(r, c)) == tile) {
+						count++;
+						r += dir[0];
+						c += dir[1];
+					}
+					if (count == 2) localThreatBonus += 10;
+					else if (count == 3) localThreatBonus += 30;
+				}
+
+				score += baseShapeScore + centralityBonus + localThreatBonus;
+			}
+		}
+
+		return score;
+	}*/
+
+	/**
+	 * Utiliser une bibliothèque d'ouvertures
+	 *
+	 * @param openingBook Bibliothèque consultée avant toute recherche, null pour n'en utiliser aucune
+	 */
+	@Override
+	public void setOpeningBook(OpeningBook openingBook)
+	{
+		this.openingBook = openingBook;
+	}
+
+	public Coords[] getAvailableMoves(GomokuBoard board)
+	{
+		int[] cells = new int[board.getCellCount()];
+		int count = generateMoves(board, cells);
+		Coords[] moves = new Coords[count];
+		for (int i = 0; i < count; i++)
+		{
+			moves[i] = board.toCoords(cells[i]);
+		}
+		return moves;
+	}
+
+	/**
+	 * Copier les coups possibles dans un tableau, sans allocation
+	 *
+	 * @param moves Tableau de destination, d'au moins board.getCellCount() cases
+	 * @return Nombre de coups copiés
+	 */
+	private static int generateMoves(GomokuBoard board, int[] moves)
+	{
+		if (board.getCandidateCount() > 0)
+		{ // Seules les cases vides proches des pièces déjà posées sont envisagées
+			return board.getCandidates(moves);
+		}
+
+		int count = 0; // Plateau vide : toutes les cases sont possibles
+		for (int cell = 0; cell < board.getCellCount(); cell++)
+		{
+			if (board.getCode(cell) == GomokuBoard.EMPTY) moves[count++] = cell;
+		}
+		return count;
+	}
+
+	@Override
+	public Coords play(GomokuBoard board, Player player)
+	{
+		long startTime = System.nanoTime();
+		nodesVisited = 0;
+
+		SearchStats stats = new SearchStats(1);
+		EvaluationVariable meilleurCoup = findMove(board, player, stats);
+
+		stats.setCounters(nodesVisited, 0, 0, 0, new long[0]);
+		stats.setResult(meilleurCoup.coords, meilleurCoup.evaluationScore, System.nanoTime() - startTime);
+		lastSearchStats = stats;
+		if (statsListener != null) statsListener.accept(stats);
+
+		return meilleurCoup.coords;
+	}
+
+	/**
+	 * Choisir un coup : bibliothèque d'ouvertures, victoire ou parade immédiate, puis approfondissement itératif
+	 *
+	 * @param stats Mesures de la recherche, complétées par chaque itération
+	 * @return Coup choisi et son score
+	 */
+	private EvaluationVariable findMove(GomokuBoard board, Player player, SearchStats stats)
+	{
+		// Ouverture : coup de la bibliothèque si la position y figure, centre du plateau s'il est vide
+		int bookMove = openingBook != null ? openingBook.lookup(board, player) : -1;
+		if (bookMove != -1) return new EvaluationVariable(board.toCoords(bookMove), 0);
+		if (board.getStoneCount() == 0) return new EvaluationVariable(new Coords(board.getSize() / 2, board.getSize() / 2), 0);
+
+		byte myCode = (player == Player.White) ? GomokuBoard.WHITE : GomokuBoard.BLACK;
+		byte opponentCode = (player == Player.White) ? GomokuBoard.BLACK : GomokuBoard.WHITE;
+		int[] moves = new int[board.getCellCount()];
+		int moveCount = generateMoves(board, moves);
+
+		for (int i = 0; i < moveCount; i++)
+		{
+			board.play(moves[i], myCode);
+			boolean isWinning = board.isWinningMove(moves[i]);
+			board.undo();
+			if (isWinning)
+			{
+				return new EvaluationVariable(board.toCoords(moves[i]), player == Player.White ? WIN_SCORE : -WIN_SCORE); // victoire directe
+			}
+		}
+
+		for (int i = 0; i < moveCount; i++)
+		{
+			board.play(moves[i], opponentCode);
+			boolean isLosing = board.isWinningMove(moves[i]);
+			board.undo();
+			if (isLosing)
+			{
+				return new EvaluationVariable(board.toCoords(moves[i]), 0); // bloque l’adversaire
+			}
+		}
+
+		deadline = timeBudgetMillis > 0 ? System.nanoTime() + timeBudgetMillis * 1_000_000 : 0;
+		searchAborted = false;
+		rootKey = board.getZobristKey();
+		rootBestMove = -1;
+
+		// Approfondissement itératif : profondeur 1, 2, 3... jusqu'à minimaxDepth ou jusqu'à épuisement du temps
+		int bestMove = -1;
+		int bestScore = 0;
+		for (int depth = 1; depth <= this.minimaxDepth; depth++)
+		{
+			long iterationStart = System.nanoTime();
+			long iterationNodes = nodesVisited;
+			int score = searchTree(board, depth, player == Player.White, player);
+			stats.addIteration(depth, nodesVisited - iterationNodes, System.nanoTime() - iterationStart, !searchAborted);
+			if (searchAborted) break; // Itération interrompue : garder le résultat de la précédente
+
+			bestMove = searchBestMove;
+			bestScore = score;
+			rootBestMove = bestMove;
+			if (Math.abs(score) >= WIN_SCORE) break; // Issue forcée trouvée, inutile d'aller plus loin
+		}
+
+		if (bestMove == -1)
+		{ // Même la profondeur 1 n'a pas pu être terminée à temps : la terminer sans limite
+			deadline = 0;
+			searchAborted = false;
+			long iterationStart = System.nanoTime();
+			long iterationNodes = nodesVisited;
+			bestScore = searchTree(board, 1, player == Player.White, player);
+			bestMove = searchBestMove;
+			stats.addIteration(1, nodesVisited - iterationNodes, System.nanoTime() - iterationStart, true);
+		}
+
+		return new EvaluationVariable(bestMove != -1 ? board.toCoords(bestMove) : new Coords(), bestScore);
+	}
+
+	/**
+	 * Obtenir les mesures de la dernière recherche
+	 *
+	 * @return Mesures du dernier coup joué, null si aucun coup n'a encore été joué
+	 */
+	public SearchStats getLastSearchStats()
+	{
+		return lastSearchStats;
+	}
+
+	/**
+	 * Recevoir les mesures de chaque recherche, à la fin de chaque coup
+	 *
+	 * @param statsListener Fonction appelée avec les mesures de chaque coup, null pour aucune
+	 */
+	@Override
+	public void setStatsListener(Consumer<SearchStats> statsListener)
+	{
+		this.statsListener = statsListener;
+	}
+
+
+	public EvaluationVariable minimax(GomokuBoard board, int depth, boolean isMaximizingPlayer, Player player)
+	{
+		int score = searchTree(board, depth, isMaximizingPlayer, player);
+		return new EvaluationVariable(searchBestMove != -1 ? board.toCoords(searchBestMove) : new Coords(), score);
+	}
+
+	/**
+	 * Chercher une position à partir de la racine
+	 *
+	 * @return Score de la position ; le meilleur coup est dans searchBestMove
+	 */
+	private int searchTree(GomokuBoard board, int depth, boolean isMaximizingPlayer, Player player)
+	{
+		if (moveBuffers.length <= depth || moveBuffers[0].length != board.getCellCount())
+		{ // Les tampons ne sont alloués qu'au changement de taille du plateau ou de profondeur
+			moveBuffers = new int[depth + 1][board.getCellCount()];
+		}
+		evaluator.reset(board);
+		searchBestMove = -1;
+		return search(board, depth, 0, isMaximizingPlayer, player);
+	}
+
+	private int search(GomokuBoard board, int depth, int ply, boolean isMaximizingPlayer, Player player)
+	{
+		// Vérifier régulièrement le temps restant ; une recherche interrompue est abandonnée par play()
+		if ((++nodesVisited & 1023) == 0 && deadline != 0 && System.nanoTime() >= deadline)
+		{
+			searchAborted = true;
+		}
+		if (searchAborted)
+		{
+			return 0;
+		}
+
+		if (depth == 0 || board.isFull())
+		{
+			return evaluator.getScore();
+		}
+
+		int[] moves = moveBuffers[ply];
+		int moveCount = generateMoves(board, moves);
+		if (rootBestMove != -1 && board.getZobristKey() == rootKey)
+		{ // A la racine, chercher en premier le meilleur coup de l'itération précédente
+			for (int i = 1; i < moveCount; i++)
+			{
+				if (moves[i] == rootBestMove)
+				{
+					moves[i] = moves[0];
+					moves[0] = rootBestMove;
+					break;
+				}
+			}
+		}
+		int bestMove = moves[0];
+		int bestEval = isMaximizingPlayer ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+		byte myCode = (player == Player.White) ? GomokuBoard.WHITE : GomokuBoard.BLACK;
+
+		for (int i = 0; i < moveCount; i++)
+		{
+			int cell = moves[i];
+			board.play(cell, myCode);
+			evaluator.play(board, cell);
+			int finalEval;
+			if (board.isWinningMove(cell))
+			{ // Coup gagnant : inutile de chercher plus loin, une victoire rapide vaut plus qu'une victoire lointaine
+				finalEval = (player == Player.White) ? WIN_SCORE + depth : -WIN_SCORE - depth;
+			}
+			else
+			{
+				Player nextPlayer = (player == Player.White) ? Player.Black : Player.White;
+				finalEval = search(board, depth - 1, ply + 1, !isMaximizingPlayer, nextPlayer);
+			}
+			evaluator.undo();
+			board.undo();
+
+			if (searchAborted)
+			{
+				return bestEval;
+			}
+
+			if (isMaximizingPlayer)
+			{
+				if (finalEval > bestEval)
+				{
+					bestEval = finalEval;
+					bestMove = cell;
+				}
+			}
+			else
+			{
+				if (finalEval < bestEval)
+				{
+					bestEval = finalEval;
+					bestMove = cell;
+				}
+			}
+		}
+		if (ply == 0) searchBestMove = bestMove;
+		return bestEval;
+	}
+
+
+	public int minimaxEval(GomokuBoard board)
+	{
+		return evaluateBoard(board);
+	}
+
+	@Override
+	public String toString()
+	{
+		return "AI_Random(profondeur=" + minimaxDepth + ", temps=" + timeBudgetMillis + " ms)";
+	}
+}
@@ -0,0 +1,262 @@
+package controllers.ai;
+
+import gamecore.GomokuBoard;
+
+/**
+ * Evaluation d'un grand nombre de positions à la fois (données d'entraînement, construction de bibliothèque),
+ * avec exactement les scores de {@link IncrementalEvaluator#evaluate(GomokuBoard, PatternTable)}.
+ * <p>
+ * Les positions sont rangées en colonnes : le code de la case {@code cell} de la position {@code position}
+ * (GomokuBoard.EMPTY, WHITE ou BLACK) est dans {@code getCells()[cell * getCapacity() + position]}.
+ * Les mêmes cases de positions voisines sont ainsi contiguës en mémoire, et chaque ligne du plateau est évaluée
+ * pour plusieurs positions à la fois avec l'API Vector ({@code jdk.incubator.vector}) : une position par voie.
+ * Sans ce module (option {@code --add-modules jdk.incubator.vector} absente au lancement), le calcul est fait
+ * position par position, avec les mêmes résultats.
+ * <p>
+ * Chaque fenêtre de 5 cases est codée par la somme des codes de ses cases, une pièce blanche valant 1
+ * et une noire 8 : la somme vaut {@code blanches + 8 * noires} et donne directement le score de la fenêtre.
+ * Le calcul glisse la fenêtre le long de chaque ligne, sans masques de bits ni accès au plateau.
+ */
+public class BatchEvaluator
+{
+	/**
+	 * Codes d'une pièce dans la somme d'une fenêtre
+	 */
+	static final int WHITE_WEIGHT = 1;
+	static final int BLACK_WEIGHT = 8;
+
+	/**
+	 * true si le module jdk.incubator.vector est chargé : le calcul vectoriel est alors utilisé
+	 */
+	private static final boolean IS_VECTOR_AVAILABLE = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+	private final int boardSize;
+	private final int cellCount;
+	private final int capacity;
+	private final byte[] cells;
+	private int positionCount;
+
+	/**
+	 * Lignes du plateau d'au moins 5 cases : les cases de la ligne {@code line} sont
+	 * {@code lineCells[lineOffsets[line]]} à {@code lineCells[lineOffsets[line + 1] - 1]}
+	 */
+	private final int[] lineOffsets;
+	private final int[] lineCells;
+
+	/**
+	 * Bonus de centralité de chaque case, et score d'une fenêtre selon la somme de ses codes (0 à 5 * 8 + 5)
+	 */
+	private final int[] cellBonus;
+	private final int[] windowScores = new int[PatternTable.WINDOW * (BLACK_WEIGHT + 1) + 1];
+
+	/**
+	 * Code de chaque case dans la somme d'une fenêtre, pour les positions évaluées ensemble par le calcul vectoriel
+	 * et pour la position évaluée par le calcul sans l'API Vector
+	 */
+	private int[] vectorBuffer = new int[0];
+	private int[] scalarBuffer = new int[0];
+
+	/**
+	 * Créer un lot de positions vide évaluées avec la table de motifs par défaut
+	 *
+	 * @param boardSize Taille des plateaux
+	 * @param capacity Nombre maximal de positions du lot
+	 */
+	public BatchEvaluator(int boardSize, int capacity)
+	{
+		this(boardSize, capacity, PatternTable.DEFAULT);
+	}
+
+	/**
+	 * Créer un lot de positions vide
+	 *
+	 * @param boardSize Taille des plateaux
+	 * @param capacity Nombre maximal de positions du lot
+	 * @param patterns Table de motifs utilisée pour évaluer les lignes
+	 * @throws IllegalArgumentException Si la taille du plateau n'est pas valide ou si la capacité n'est pas positive
+	 */
+	public BatchEvaluator(int boardSize, int capacity, PatternTable patterns)
+	{
+		if (capacity <= 0)
+			throw new IllegalArgumentException("La capacité du lot doit être positive : " + capacity + ".");
+
+		GomokuBoard geometry = new GomokuBoard(boardSize);
+		this.boardSize = boardSize;
+		this.cellCount = geometry.getCellCount();
+		this.capacity = capacity;
+		this.cells = new byte[cellCount * capacity];
+
+		lineOffsets = new int[geometry.getLineCount() + 1];
+		for (int line = 0; line < geometry.getLineCount(); line++)
+		{
+			lineOffsets[line + 1] = lineOffsets[line] + geometry.getLineLength(line);
+		}
+		lineCells = new int[lineOffsets[geometry.getLineCount()]];
+		for (int line = 0; line < geometry.getLineCount(); line++)
+		{
+			for (int position = 0; position < geometry.getLineLength(line); position++)
+			{
+				lineCells[lineOffsets[line] + position] = geometry.getLineCell(line, position);
+			}
+		}
+
+		cellBonus = new int[cellCount];
+		for (int cell = 0; cell < cellCount; cell++)
+		{
+			cellBonus[cell] = patterns.getCentralityBonus(geometry.getCenterDistance(cell));
+		}
+
+		for (int white = 0; white <= PatternTable.WINDOW; white++)
+		{
+			for (int black = 0; white + black <= PatternTable.WINDOW; black++)
+			{
+				windowScores[white * WHITE_WEIGHT + black * BLACK_WEIGHT] = patterns.getWindowScore((1 << white) - 1, ((1 << black) - 1) << white);
+			}
+		}
+	}
+
+	/**
+	 * Ajouter une position au lot
+	 *
+	 * @param board Plateau de la taille du lot
+	 * @return Numéro de la position dans le lot
+	 * @throws IllegalArgumentException Si le plateau n'a pas la taille du lot
+	 * @throws IllegalStateException Si le lot est plein
+	 */
+	public int add(GomokuBoard board)
+	{
+		if (board.getSize() != boardSize)
+			throw new IllegalArgumentException("Le plateau doit être de taille " + boardSize + " : " + board.getSize() + ".");
+		if (positionCount == capacity)
+			throw new IllegalStateException("Le lot est plein (" + capacity + " positions).");
+
+		int position = positionCount++;
+		for (int cell = 0; cell < cellCount; cell++)
+		{
+			cells[cell * capacity + position] = board.getCode(cell);
+		}
+		return position;
+	}
+
+	/**
+	 * Fixer le nombre de positions du lot, après les avoir écrites directement dans {@link #getCells()}
+	 *
+	 * @param positionCount Nombre de positions, de 0 à la capacité
+	 * @throws IllegalArgumentException Si le nombre de positions dépasse la capacité
+	 */
+	public void setPositionCount(int positionCount)
+	{
+		if (positionCount < 0 || positionCount > capacity)
+			throw new IllegalArgumentException("Le lot contient de 0 à " + capacity + " positions : " + positionCount + ".");
+		this.positionCount = positionCount;
+	}
+
+	/**
+	 * Vider le lot. Les cases des positions ne sont pas effacées : {@link #add(GomokuBoard)} les réécrit toutes.
+	 */
+	public void clear()
+	{
+		positionCount = 0;
+	}
+
+	/**
+	 * Obtenir le tableau des cases de toutes les positions, rangées en colonnes
+	 *
+	 * @return Codes des cases, la case {@code cell} de la position {@code position} étant à l'index {@code cell * getCapacity() + position}
+	 */
+	public byte[] getCells()
+	{
+		return cells;
+	}
+
+	public int getPositionCount()
+	{
+		return positionCount;
+	}
+
+	public int getCapacity()
+	{
+		return capacity;
+	}
+
+	public int getBoardSize()
+	{
+		return boardSize;
+	}
+
+	/**
+	 * Indiquer si l'évaluation utilise l'API Vector
+	 *
+	 * @return true si le module jdk.incubator.vector est chargé
+	 */
+	public static boolean isVectorized()
+	{
+		return IS_VECTOR_AVAILABLE;
+	}
+
+	/**
+	 * Evaluer toutes les positions du lot
+	 *
+	 * @param scores Tableau de destination, d'au moins getPositionCount() cases : score de chaque position,
+	 * positif si les blancs sont mieux placés
+	 */
+	public void evaluate(int[] scores)
+	{
+		int done = 0;
+		if (IS_VECTOR_AVAILABLE)
+		{
+			if (vectorBuffer.length == 0) vectorBuffer = new int[cellCount * VectorBatchKernel.lanes()];
+			done = VectorBatchKernel.evaluate(cells, capacity, positionCount, cellBonus, lineOffsets, lineCells, windowScores, vectorBuffer, scores);
+		}
+		evaluateScalar(done, positionCount, scores); // Positions restantes, moins nombreuses que les voies
+	}
+
+	/**
+	 * Evaluer des positions du lot une par une, sans l'API Vector
+	 *
+	 * @param from Première position
+	 * @param to Position qui suit la dernière
+	 * @param scores Tableau de destination, indexé par numéro de position
+	 */
+	public void evaluateScalar(int from, int to, int[] scores)
+	{
+		if (scalarBuffer.length != cellCount) scalarBuffer = new int[cellCount];
+		int[] weights = scalarBuffer;
+		for (int position = from; position < to; position++)
+		{
+			// Une seule lecture de la colonne de chaque case : les lignes relisent ensuite chaque case 4 fois
+			int score = 0;
+			for (int cell = 0; cell < cellCount; cell++)
+			{
+				byte code = cells[cell * capacity + position];
+				weights[cell] = weightOf(code);
+				if (code == GomokuBoard.WHITE) score += cellBonus[cell];
+				else if (code == GomokuBoard.BLACK) score -= cellBonus[cell];
+			}
+
+			for (int line = 0; line + 1 < lineOffsets.length; line++)
+			{
+				int start = lineOffsets[line];
+				int end = lineOffsets[line + 1];
+				int sum = 0;
+				for (int i = start; i < end; i++)
+				{ // Fenêtre [i - 4, i] : ajouter la case i, compter la fenêtre puis retirer la case i - 4
+					sum += weights[lineCells[i]];
+					if (i - start < PatternTable.WINDOW - 1) continue;
+
+					score += windowScores[sum];
+					sum -= weights[lineCells[i - PatternTable.WINDOW + 1]];
+				}
+			}
+			scores[position] = score;
+		}
+	}
+
+	/**
+	 * Code d'une case dans la somme d'une fenêtre : 1 pour une pièce blanche, 8 pour une noire, 0 pour une case vide
+	 */
+	private static int weightOf(byte code)
+	{
+		return (code & GomokuBoard.WHITE) * WHITE_WEIGHT + (code >> 1) * BLACK_WEIGHT;
+	}
+}
@@ -0,0 +1,23 @@
+package controllers.ai;
+
+import java.util.function.Consumer;
+
+/**
+ * Réglages communs à toutes les IA : bibliothèque d'ouvertures et mesures de chaque recherche
+ */
+public interface ConfigurableAI
+{
+	/**
+	 * Utiliser une bibliothèque d'ouvertures
+	 *
+	 * @param openingBook Bibliothèque consultée avant toute recherche, null pour n'en utiliser aucune
+	 */
+	void setOpeningBook(OpeningBook openingBook);
+
+	/**
+	 * Recevoir les mesures de chaque recherche, à la fin de chaque coup
+	 *
+	 * @param statsListener Fonction appelée avec les mesures de chaque coup, null pour aucune
+	 */
+	void setStatsListener(Consumer<SearchStats> statsListener);
+}
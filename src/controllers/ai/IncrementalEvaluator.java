@@ -0,0 +1,156 @@
+package controllers.ai;
+
+import gamecore.GomokuBoard;
+
+/**
+ * Evaluation d'un plateau de Gomoku tenue à jour coup par coup.
+ * <p>
+ * Le score est la somme des scores des lignes du plateau (point de vue des blancs),
+ * chaque ligne étant évaluée par une {@link PatternTable}.
+ * Un coup ne modifiant que les 4 lignes qui passent par sa case, seules ces lignes sont réévaluées
+ * par {@link #play(GomokuBoard, int)}, et leurs anciens scores sont empilés pour que {@link #undo()} les restaure.
+ */
+public class IncrementalEvaluator
+{
+	private final PatternTable patterns;
+
+	/**
+	 * Score de chaque ligne, dimensionné pour la taille du dernier plateau passé à {@link #reset(GomokuBoard)}
+	 */
+	private int[] lineScores = new int[0];
+	private int score;
+
+	/**
+	 * Pile des (ligne, ancien score) modifiés par chaque coup, 4 entrées par coup
+	 */
+	private int[] savedLines = new int[0];
+	private int[] savedScores = new int[0];
+	private int savedCount;
+
+	/**
+	 * Créer un évaluateur utilisant la table de motifs par défaut
+	 */
+	public IncrementalEvaluator()
+	{
+		this(PatternTable.DEFAULT);
+	}
+
+	/**
+	 * Créer un évaluateur
+	 *
+	 * @param patterns Table de motifs utilisée pour évaluer les lignes
+	 */
+	public IncrementalEvaluator(PatternTable patterns)
+	{
+		this.patterns = patterns;
+	}
+
+	/**
+	 * Recalculer entièrement l'évaluation d'un plateau et vider la pile des coups
+	 *
+	 * @param board Plateau de jeu
+	 */
+	public void reset(GomokuBoard board)
+	{
+		if (lineScores.length != board.getLineCount())
+		{ // Nouvelle taille de plateau
+			lineScores = new int[board.getLineCount()];
+			savedLines = new int[4 * board.getCellCount()];
+			savedScores = new int[4 * board.getCellCount()];
+		}
+
+		score = 0;
+		savedCount = 0;
+		for (int line = 0; line < lineScores.length; line++)
+		{
+			lineScores[line] = scoreLine(patterns, board, line);
+			score += lineScores[line];
+		}
+	}
+
+	/**
+	 * Mettre à jour l'évaluation après un coup joué sur le plateau
+	 *
+	 * @param board Plateau de jeu, sur lequel le coup vient d'être joué
+	 * @param cell Index de la case jouée
+	 */
+	public void play(GomokuBoard board, int cell)
+	{
+		for (int direction = 0; direction < 4; direction++)
+		{
+			int line = board.getLineOf(direction, cell);
+			savedLines[savedCount] = line; // -1 pour une ligne trop courte : 4 entrées par coup dans tous les cas
+			if (line == -1)
+			{
+				savedCount++;
+				continue;
+			}
+			savedScores[savedCount++] = lineScores[line];
+
+			int lineScore = scoreLine(patterns, board, line);
+			score += lineScore - lineScores[line];
+			lineScores[line] = lineScore;
+		}
+	}
+
+	/**
+	 * Annuler la mise à jour du dernier coup
+	 */
+	public void undo()
+	{
+		for (int i = 0; i < 4; i++)
+		{
+			int line = savedLines[--savedCount];
+			if (line == -1) continue;
+
+			score += savedScores[savedCount] - lineScores[line];
+			lineScores[line] = savedScores[savedCount];
+		}
+	}
+
+	/**
+	 * Obtenir l'évaluation courante
+	 *
+	 * @return Score du plateau, positif si les blancs sont mieux placés
+	 */
+	public int getScore()
+	{
+		return score;
+	}
+
+	/**
+	 * Evaluer entièrement un plateau
+	 *
+	 * @param board Plateau de jeu
+	 * @return Score du plateau, positif si les blancs sont mieux placés
+	 */
+	public static int evaluate(GomokuBoard board)
+	{
+		return evaluate(board, PatternTable.DEFAULT);
+	}
+
+	/**
+	 * Evaluer entièrement un plateau avec une table de motifs
+	 *
+	 * @param board Plateau de jeu
+	 * @param patterns Table de motifs
+	 * @return Score du plateau, positif si les blancs sont mieux placés
+	 */
+	public static int evaluate(GomokuBoard board, PatternTable patterns)
+	{
+		int score = 0;
+		for (int line = 0; line < board.getLineCount(); line++)
+		{
+			score += scoreLine(patterns, board, line);
+		}
+		return score;
+	}
+
+	/**
+	 * Evaluer une ligne avec une table de motifs
+	 */
+	private static int scoreLine(PatternTable patterns, GomokuBoard board, int line)
+	{
+		return patterns.scoreLine(board, line, board.getLineMask(line, GomokuBoard.WHITE), board.getLineMask(line, GomokuBoard.BLACK));
+	}
+}
@@ -0,0 +1,158 @@
+package controllers.ai;
+
+import gamecore.GomokuBoard;
+import gamecore.enums.Player;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Bibliothèque d'ouvertures : meilleur coup connu pour les positions du début de partie.
+ * <p>
+ * Le fichier est trié par clé et projeté en mémoire, une recherche est donc une simple dichotomie
+ * sans lecture ni allocation. Une position et ses 7 images par symétrie du plateau partagent une même entrée :
+ * la clé enregistrée est la plus petite des 8 clés de Zobrist, et le coup est exprimé dans ce repère canonique.
+ * <p>
+ * Format du fichier (gros-boutiste) : entier magique, taille du plateau, nombre d'entrées, puis les entrées triées
+ * par clé croissante, chacune composée de la clé (long), de la case du coup dans le repère canonique (int) et de son poids (int).
+ * La bibliothèque n'est consultée que pour les plateaux de sa taille.
+ */
+public class OpeningBook
+{
+	/**
+	 * Emplacement par défaut de la bibliothèque, relatif au répertoire de lancement
+	 */
+	public static final String DEFAULT_PATH = "opening.book";
+
+	static final int MAGIC = 0x474F4B32; // "GOK2"
+	static final int HEADER_SIZE = 12;
+	static final int ENTRY_SIZE = 16;
+
+	private final ByteBuffer entries;
+	private final int boardSize;
+	private final int entryCount;
+
+	private OpeningBook(ByteBuffer entries, int boardSize, int entryCount)
+	{
+		this.entries = entries;
+		this.boardSize = boardSize;
+		this.entryCount = entryCount;
+	}
+
+	/**
+	 * Ouvrir une bibliothèque d'ouvertures en la projetant en mémoire
+	 *
+	 * @param path Chemin du fichier
+	 * @return Bibliothèque prête à être consultée
+	 * @throws IOException Si le fichier ne peut pas être lu ou n'est pas une bibliothèque d'ouvertures
+	 */
+	public static OpeningBook open(Path path) throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+		{
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()); // La projection reste valide après la fermeture
+			buffer.order(ByteOrder.BIG_ENDIAN);
+			if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC)
+				throw new IOException("Le fichier " + path + " n'est pas une bibliothèque d'ouvertures.");
+
+			int entryCount = buffer.getInt(8);
+			if ((long) HEADER_SIZE + (long) entryCount * ENTRY_SIZE > buffer.capacity())
+				throw new IOException("La bibliothèque d'ouvertures " + path + " est tronquée.");
+
+			return new OpeningBook(buffer, buffer.getInt(4), entryCount);
+		}
+	}
+
+	/**
+	 * Ouvrir la bibliothèque d'ouvertures par défaut si elle existe
+	 *
+	 * @return Bibliothèque, null si le fichier est absent ou illisible
+	 */
+	public static OpeningBook openDefault()
+	{
+		Path path = Path.of(DEFAULT_PATH);
+		if (!Files.isRegularFile(path)) return null;
+
+		try
+		{
+			return open(path);
+		}
+		catch (IOException e)
+		{
+			System.err.println("Bibliothèque d'ouvertures ignorée : " + e.getMessage()); // La sortie standard peut être un canal de protocole (Piskvork)
+			return null;
+		}
+	}
+
+	/**
+	 * Chercher le coup de la bibliothèque pour une position
+	 *
+	 * @param board Plateau de jeu
+	 * @param player Joueur qui doit jouer
+	 * @return Index de la case à jouer, -1 si la position n'est pas dans la bibliothèque
+	 */
+	public int lookup(GomokuBoard board, Player player)
+	{
+		if (board.getSize() != boardSize) return -1;
+
+		int symmetry = canonicalSymmetry(board, player);
+		long key = TranspositionTable.keyOf(board.getZobristKey(symmetry), player);
+
+		int low = 0;
+		int high = entryCount - 1;
+		while (low <= high)
+		{
+			int middle = (low + high) >>> 1;
+			long middleKey = entries.getLong(HEADER_SIZE + middle * ENTRY_SIZE);
+			if (middleKey < key) low = middle + 1;
+			else if (middleKey > key) high = middle - 1;
+			else
+			{
+				int storedCell = entries.getInt(HEADER_SIZE + middle * ENTRY_SIZE + 8);
+				if (storedCell < 0 || storedCell >= board.getCellCount()) return -1; // Fichier corrompu : ignorer l'entrée
+				int cell = board.inverseTransform(symmetry, storedCell);
+				return board.getCode(cell) == GomokuBoard.EMPTY ? cell : -1;
+			}
+		}
+		return -1;
+	}
+
+	public int getBoardSize()
+	{
+		return boardSize;
+	}
+
+	public int getEntryCount()
+	{
+		return entryCount;
+	}
+
+	/**
+	 * Trouver la symétrie qui amène une position dans son repère canonique (celle de plus petite clé)
+	 *
+	 * @param board Plateau de jeu
+	 * @param player Joueur qui doit jouer
+	 * @return Numéro de la symétrie
+	 */
+	public static int canonicalSymmetry(GomokuBoard board, Player player)
+	{
+		int best = 0;
+		long bestKey = TranspositionTable.keyOf(board.getZobristKey(0), player);
+		for (int symmetry = 1; symmetry < GomokuBoard.SYMMETRY_COUNT; symmetry++)
+		{
+			long key = TranspositionTable.keyOf(board.getZobristKey(symmetry), player);
+			if (key < bestKey)
+			{
+				bestKey = key;
+				best = symmetry;
+			}
+		}
+		return best;
+	}
+}
@@ -0,0 +1,184 @@
+package controllers.ai;
+
+import gamecore.Coords;
+import gamecore.GomokuBoard;
+import gamecore.enums.Player;
+import gamecore.enums.TileState;
+import gamecore.enums.WinnerState;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Construction d'une bibliothèque d'ouvertures à partir de parties jouées.
+ * <p>
+ * Pour chaque position des premiers coups d'une partie, le coup joué reçoit 2 points si le joueur a gagné
+ * et 1 point en cas d'égalité. Le coup gardé pour une position est celui qui a le plus de points,
+ * à condition que la position ait été vue assez souvent.
+ */
+public class OpeningBookBuilder
+{
+	private final int boardSize;
+	private final int maxPly;
+	private final int minGames;
+
+	/**
+	 * Points de chaque coup (dans le repère canonique) par clé canonique de position, et nombre de parties par clé
+	 */
+	private final Map<Long, Map<Integer, Integer>> moveScores = new HashMap<>();
+	private final Map<Long, Integer> gameCounts = new HashMap<>();
+
+	/**
+	 * @param maxPly Nombre de coups de début de partie enregistrés par partie
+	 * @param minGames Nombre minimum de parties passant par une position pour qu'elle entre dans la bibliothèque
+	 */
+	public OpeningBookBuilder(int maxPly, int minGames)
+	{
+		this(GomokuBoard.DEFAULT_SIZE, maxPly, minGames);
+	}
+
+	/**
+	 * @param boardSize Taille du plateau des parties
+	 * @param maxPly Nombre de coups de début de partie enregistrés par partie
+	 * @param minGames Nombre minimum de parties passant par une position pour qu'elle entre dans la bibliothèque
+	 */
+	public OpeningBookBuilder(int boardSize, int maxPly, int minGames)
+	{
+		this.boardSize = boardSize;
+		this.maxPly = maxPly;
+		this.minGames = minGames;
+	}
+
+	/**
+	 * Ajouter une partie terminée, les blancs jouant le premier coup
+	 *
+	 * @param moves Cases jouées, dans l'ordre
+	 * @param winner Issue de la partie
+	 */
+	public void addGame(List<Integer> moves, WinnerState winner)
+	{
+		GomokuBoard board = new GomokuBoard(boardSize);
+		Player player = Player.White;
+		for (int ply = 0; ply < Math.min(maxPly, moves.size()); ply++)
+		{
+			int symmetry = OpeningBook.canonicalSymmetry(board, player);
+			long key = TranspositionTable.keyOf(board.getZobristKey(symmetry), player);
+			int move = board.transform(symmetry, moves.get(ply));
+
+			int points = winner == WinnerState.Tie ? 1
+					: (winner == WinnerState.White) == (player == Player.White) ? 2 : 0;
+			moveScores.computeIfAbsent(key, k -> new HashMap<>()).merge(move, points, Integer::sum);
+			gameCounts.merge(key, 1, Integer::sum);
+
+			board.play(moves.get(ply), player == Player.White ? GomokuBoard.WHITE : GomokuBoard.BLACK);
+			player = player == Player.White ? Player.Black : Player.White;
+		}
+	}
+
+	/**
+	 * Ecrire la bibliothèque d'ouvertures
+	 *
+	 * @param path Chemin du fichier
+	 * @return Nombre de positions écrites
+	 * @throws IOException Si le fichier ne peut pas être écrit
+	 */
+	public int write(Path path) throws IOException
+	{
+		List<long[]> entries = new ArrayList<>(); // {clé, coup, poids}
+		for (Map.Entry<Long, Map<Integer, Integer>> position : moveScores.entrySet())
+		{
+			if (gameCounts.get(position.getKey()) < minGames) continue;
+
+			int bestMove = -1;
+			int bestScore = 0;
+			for (Map.Entry<Integer, Integer> move : position.getValue().entrySet())
+			{
+				if (move.getValue() > bestScore)
+				{
+					bestMove = move.getKey();
+					bestScore = move.getValue();
+				}
+			}
+			if (bestMove != -1) entries.add(new long[]{position.getKey(), bestMove, bestScore});
+		}
+		entries.sort((a, b) -> Long.compare(a[0], b[0]));
+
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path))))
+		{
+			out.writeInt(OpeningBook.MAGIC);
+			out.writeInt(boardSize);
+			out.writeInt(entries.size());
+			for (long[] entry : entries)
+			{
+				out.writeLong(entry[0]);
+				out.writeInt((int) entry[1]);
+				out.writeInt((int) entry[2]);
+			}
+		}
+		return entries.size();
+	}
+
+	/**
+	 * Générer une bibliothèque d'ouvertures par des parties de l'IA Elagage contre elle-même.
+	 * Les deux premiers coups sont tirés au hasard près du centre pour varier les parties.
+	 * <p>
+	 * Arguments : fichier, nombre de parties, nombre de coups enregistrés, profondeur, temps par coup en ms, taille du plateau
+	 */
+	public static void main(String[] args) throws IOException
+	{
+		Path path = Path.of(args.length > 0 ? args[0] : OpeningBook.DEFAULT_PATH);
+		int games = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+		int maxPly = args.length > 2 ? Integer.parseInt(args[2]) : 8;
+		int depth = args.length > 3 ? Integer.parseInt(args[3]) : 6;
+		long timeBudget = args.length > 4 ? Long.parseLong(args[4]) : 200;
+		int boardSize = args.length > 5 ? Integer.parseInt(args[5]) : GomokuBoard.DEFAULT_SIZE;
+
+		OpeningBookBuilder builder = new OpeningBookBuilder(boardSize, maxPly, 2);
+		Random random = new Random();
+		int center = boardSize / 2;
+		for (int game = 0; game < games; game++)
+		{
+			GomokuBoard board = new GomokuBoard(boardSize);
+			AI_Elagage white = new AI_Elagage(depth, Player.White, timeBudget);
+			AI_Elagage black = new AI_Elagage(depth, Player.Black, timeBudget);
+			List<Integer> moves = new ArrayList<>();
+			Player player = Player.White;
+			WinnerState winner = WinnerState.None;
+
+			while (winner == WinnerState.None)
+			{
+				Coords move;
+				if (moves.size() < 2)
+				{ // Ouverture aléatoire dans le carré central 3x3
+					do
+					{
+						move = new Coords(center - 1 + random.nextInt(3), center - 1 + random.nextInt(3));
+					}
+					while (board.get(move) != TileState.Empty);
+				}
+				else
+				{
+					move = (player == Player.White ? white : black).play(board, player);
+				}
+
+				board.set(move, player == Player.White ? TileState.White : TileState.Black);
+				moves.add(board.index(move.column, move.row));
+				winner = board.getWinnerStateAfter(move);
+				player = player == Player.White ? Player.Black : Player.White;
+			}
+
+			builder.addGame(moves, winner);
+			System.out.println("Partie " + (game + 1) + "/" + games + " : " + winner + " en " + moves.size() + " coups");
+		}
+
+		System.out.println(builder.write(path) + " positions écrites dans " + path);
+	}
+}
@@ -0,0 +1,161 @@
+package controllers.ai;
+
+import gamecore.GomokuBoard;
+
+/**
+ * Table de motifs pour l'évaluation des lignes, calculée une seule fois à la création.
+ * <p>
+ * Une ligne est découpée en fenêtres de 5 cases consécutives. Chaque fenêtre est codée par ses deux masques
+ * de bits (5 bits pour les blancs, 5 bits pour les noirs), soit un index sur 10 bits, et la table donne
+ * directement son score : une fenêtre qui ne contient que des pièces d'une couleur vaut le poids
+ * de son nombre de pièces, une fenêtre qui contient les deux couleurs ne vaut rien.
+ * Les motifs troués comme {@code XX_XX} ou {@code X_XXX} sont donc reconnus comme des quatre,
+ * et un alignement ouvert compte dans plus de fenêtres qu'un alignement fermé.
+ */
+public class PatternTable
+{
+	/**
+	 * Nombre de cases d'une fenêtre
+	 */
+	public static final int WINDOW = 5;
+
+	/**
+	 * Score d'une fenêtre de 5 pièces de la même couleur (victoire)
+	 */
+	public static final int FIVE_SCORE = 1_000_000;
+
+	/**
+	 * Poids par défaut d'une fenêtre selon son nombre de pièces (0 à 4).
+	 * Un quatre ouvert {@code _XXXX_} occupe deux fenêtres de 4 et vaut donc 10000, un quatre fermé 5000.
+	 */
+	public static final int[] DEFAULT_WEIGHTS = {0, 1, 10, 100, 5000};
+
+	/**
+	 * Poids par défaut du bonus de centralité
+	 */
+	public static final int DEFAULT_CENTRALITY_WEIGHT = 1;
+
+	/**
+	 * Table construite avec les poids par défaut
+	 */
+	public static final PatternTable DEFAULT = new PatternTable(DEFAULT_WEIGHTS, DEFAULT_CENTRALITY_WEIGHT);
+
+	/**
+	 * Score de chaque fenêtre, indexé par {@code (masque blanc << 5) | masque noir}, du point de vue des blancs
+	 */
+	private final int[] windowScores = new int[1 << (2 * WINDOW)];
+
+	/**
+	 * Bonus de centralité d'une case selon sa distance au centre du plateau (diagonales comprises) :
+	 * 10 dans le carré central 5x5, puis décroissant avec la distance
+	 */
+	private final int[] centralityBonus = new int[GomokuBoard.MAX_SIZE];
+
+	private final int[] weights;
+	private final int centralityWeight;
+
+	/**
+	 * Construire une table de motifs
+	 *
+	 * @param weights Poids d'une fenêtre selon son nombre de pièces, de 0 à 4
+	 * @param centralityWeight Multiplicateur du bonus de centralité de chaque pièce
+	 */
+	public PatternTable(int[] weights, int centralityWeight)
+	{
+		if (weights.length != WINDOW)
+			throw new IllegalArgumentException("Il faut " + WINDOW + " poids (fenêtres de 0 à 4 pièces).");
+
+		this.weights = weights.clone();
+		this.centralityWeight = centralityWeight;
+
+		for (int white = 0; white < 1 << WINDOW; white++)
+		{
+			for (int black = 0; black < 1 << WINDOW; black++)
+			{
+				if ((white & black) != 0) continue; // Combinaison impossible
+
+				int whiteCount = Integer.bitCount(white);
+				int blackCount = Integer.bitCount(black);
+				int score = 0;
+				if (blackCount == 0) score = whiteCount == WINDOW ? FIVE_SCORE : this.weights[whiteCount];
+				else if (whiteCount == 0) score = -(blackCount == WINDOW ? FIVE_SCORE : this.weights[blackCount]);
+				windowScores[(white << WINDOW) | black] = score;
+			}
+		}
+
+		for (int distance = 0; distance < centralityBonus.length; distance++)
+		{
+			centralityBonus[distance] = centralityWeight * ((distance <= 2) ? 10 : Math.max(0, 10 - distance));
+		}
+	}
+
+	/**
+	 * Evaluer une ligne
+	 *
+	 * @param board Plateau auquel appartient la ligne
+	 * @param line Index de la ligne
+	 * @param white Masque des cases de la ligne occupées par les blancs
+	 * @param black Masque des cases de la ligne occupées par les noirs
+	 * @return Score de la ligne, positif si les blancs sont mieux placés
+	 */
+	public int scoreLine(GomokuBoard board, int line, int white, int black)
+	{
+		int windowCount = board.getLineLength(line) - WINDOW + 1;
+		int score = 0;
+		for (int position = 0; position < windowCount; position++)
+		{
+			score += windowScores[((white >> position) & 0x1F) << WINDOW | ((black >> position) & 0x1F)];
+		}
+
+		if (board.getLineDirection(line) == 0)
+		{ // Bonus de centralité : chaque case appartient à exactement une ligne horizontale
+			for (int bits = white; bits != 0; bits &= bits - 1)
+			{
+				score += centralityBonus[board.getCenterDistance(board.getLineCell(line, Integer.numberOfTrailingZeros(bits)))];
+			}
+			for (int bits = black; bits != 0; bits &= bits - 1)
+			{
+				score -= centralityBonus[board.getCenterDistance(board.getLineCell(line, Integer.numberOfTrailingZeros(bits)))];
+			}
+		}
+		return score;
+	}
+
+	/**
+	 * Obtenir le score d'une fenêtre de 5 cases
+	 *
+	 * @param white Masque des cases de la fenêtre occupées par les blancs
+	 * @param black Masque des cases de la fenêtre occupées par les noirs
+	 * @return Score de la fenêtre, positif si elle ne contient que des pièces blanches
+	 */
+	public int getWindowScore(int white, int black)
+	{
+		return windowScores[(white << WINDOW) | black];
+	}
+
+	/**
+	 * Obtenir le bonus de centralité d'une pièce
+	 *
+	 * @param distance Distance de sa case au centre du plateau, donnée par {@link GomokuBoard#getCenterDistance(int)}
+	 * @return Bonus, ajouté pour une pièce blanche et retranché pour une pièce noire
+	 */
+	int getCentralityBonus(int distance)
+	{
+		return centralityBonus[distance];
+	}
+
+	/**
+	 * Obtenir les poids d'une fenêtre selon son nombre de pièces
+	 *
+	 * @return Copie des poids, de 0 à 4 pièces
+	 */
+	public int[] getWeights()
+	{
+		return weights.clone();
+	}
+
+	public int getCentralityWeight()
+	{
+		return centralityWeight;
+	}
+}
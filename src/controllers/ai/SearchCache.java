@@ -0,0 +1,182 @@
+package controllers.ai;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Cache de recherche persistant : table de transposition de taille fixe projetée en mémoire depuis un fichier,
+ * qui survit à l'arrêt du programme et peut être partagée par plusieurs IA et plusieurs processus.
+ * <p>
+ * Les entrées ont le format de {@link TranspositionTable} : la clé combinée par XOR avec les données, puis
+ * les données compactées. Une entrée à moitié écrite par un autre thread ou un autre processus ne vérifie plus
+ * ce XOR et est simplement ignorée, si bien qu'aucun verrou n'est nécessaire. Les entrées sont rangées par paires :
+ * une position remplace la moins profonde des deux, pour garder les recherches les plus coûteuses.
+ * <p>
+ * Format du fichier (gros-boutiste) : entier magique, logarithme en base 2 du nombre d'entrées, puis les entrées.
+ * Les scores dépendent de l'évaluation : le fichier doit être supprimé quand les poids de l'évaluation changent.
+ */
+public class SearchCache implements Closeable
+{
+	/**
+	 * Profondeur minimale des recherches enregistrées dans le cache et des consultations :
+	 * les recherches moins profondes coûtent moins cher que l'accès au fichier
+	 */
+	public static final int MIN_DEPTH = 3;
+
+	public static final int MIN_SIZE_BITS = 10;
+	public static final int MAX_SIZE_BITS = 26;
+
+	static final int MAGIC = 0x474F4B43; // "GOKC"
+	static final int HEADER_SIZE = 8;
+	static final int ENTRY_SIZE = 16;
+
+	private final MappedByteBuffer buffer;
+	private final int sizeBits;
+	private final int mask;
+
+	private SearchCache(MappedByteBuffer buffer, int sizeBits)
+	{
+		this.buffer = buffer;
+		this.sizeBits = sizeBits;
+		this.mask = (1 << sizeBits) - 1;
+	}
+
+	/**
+	 * Ouvrir un cache de recherche en le projetant en mémoire, en le créant s'il n'existe pas
+	 *
+	 * @param path Chemin du fichier
+	 * @param sizeBits Logarithme en base 2 du nombre d'entrées d'un nouveau cache ; un cache existant garde sa taille
+	 * @return Cache prêt à être consulté et complété
+	 * @throws IOException Si le fichier ne peut pas être lu ou écrit, ou n'est pas un cache de recherche
+	 * @throws IllegalArgumentException Si la taille demandée n'est pas comprise entre MIN_SIZE_BITS et MAX_SIZE_BITS
+	 */
+	public static SearchCache open(Path path, int sizeBits) throws IOException
+	{
+		if (sizeBits < MIN_SIZE_BITS || sizeBits > MAX_SIZE_BITS)
+			throw new IllegalArgumentException("La taille du cache doit être comprise entre 2^" + MIN_SIZE_BITS + " et 2^" + MAX_SIZE_BITS + " entrées.");
+
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE))
+		{
+			FileLock lock = channel.lock(); // Un seul processus crée le fichier ou lit son en-tête à la fois
+			try
+			{
+				if (channel.size() == 0)
+				{ // Nouveau cache : en-tête puis entrées vides
+					ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.BIG_ENDIAN);
+					header.putInt(MAGIC).putInt(sizeBits).flip();
+					channel.write(header, 0);
+					channel.write(ByteBuffer.allocate(1), HEADER_SIZE + ((long) ENTRY_SIZE << sizeBits) - 1);
+				}
+
+				ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.BIG_ENDIAN);
+				channel.read(header, 0);
+				if (header.getInt(0) != MAGIC)
+					throw new IOException("Le fichier " + path + " n'est pas un cache de recherche.");
+
+				int fileSizeBits = header.getInt(4);
+				if (fileSizeBits < MIN_SIZE_BITS || fileSizeBits > MAX_SIZE_BITS || channel.size() < HEADER_SIZE + ((long) ENTRY_SIZE << fileSizeBits))
+					throw new IOException("Le cache de recherche " + path + " est tronqué.");
+
+				MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + ((long) ENTRY_SIZE << fileSizeBits)); // La projection reste valide après la fermeture
+				buffer.order(ByteOrder.BIG_ENDIAN);
+				return new SearchCache(buffer, fileSizeBits);
+			}
+			finally
+			{
+				lock.release();
+			}
+		}
+	}
+
+	/**
+	 * Chercher une position dans le cache
+	 *
+	 * @param key Clé de la position, calculée par {@link TranspositionTable#keyOf}
+	 * @return Données compactées de l'entrée, lisibles avec les méthodes de TranspositionTable, 0 si la position n'est pas dans le cache
+	 */
+	public long probe(long key)
+	{
+		int bucket = (int) key & mask & ~1;
+		for (int slot = bucket; slot <= bucket + 1; slot++)
+		{
+			int offset = HEADER_SIZE + slot * ENTRY_SIZE;
+			long entry = buffer.getLong(offset + 8);
+			if (entry != 0 && (buffer.getLong(offset) ^ entry) == key) return entry;
+		}
+		return 0;
+	}
+
+	/**
+	 * Enregistrer le résultat de la recherche d'une position, si elle est assez profonde.
+	 * Une entrée existante pour la même position n'est remplacée que par une recherche au moins aussi profonde ;
+	 * sinon la moins profonde des deux entrées de la paire est remplacée.
+	 *
+	 * @param key Clé de la position
+	 * @param depth Profondeur de la recherche
+	 * @param bound Type de borne (TranspositionTable.EXACT, LOWER_BOUND ou UPPER_BOUND)
+	 * @param score Score de la position
+	 * @param move Index de la case du meilleur coup, -1 si aucun (le coup déjà enregistré pour la position est alors conservé)
+	 */
+	public void store(long key, int depth, int bound, int score, int move)
+	{
+		if (depth < MIN_DEPTH) return;
+
+		int bucket = (int) key & mask & ~1;
+		int target = -1;
+		int shallowest = Integer.MAX_VALUE;
+		for (int slot = bucket; slot <= bucket + 1; slot++)
+		{
+			int offset = HEADER_SIZE + slot * ENTRY_SIZE;
+			long previous = buffer.getLong(offset + 8);
+			if (previous != 0 && (buffer.getLong(offset) ^ previous) == key)
+			{ // Même position
+				if (TranspositionTable.depthOf(previous) > depth) return;
+				if (move == -1) move = TranspositionTable.moveOf(previous);
+				target = slot;
+				break;
+			}
+
+			int previousDepth = previous != 0 ? TranspositionTable.depthOf(previous) : -1;
+			if (previousDepth < shallowest)
+			{
+				shallowest = previousDepth;
+				target = slot;
+			}
+		}
+
+		long entry = TranspositionTable.pack(depth, bound, score, move);
+		int offset = HEADER_SIZE + target * ENTRY_SIZE;
+		buffer.putLong(offset, key ^ entry);
+		buffer.putLong(offset + 8, entry);
+	}
+
+	/**
+	 * Obtenir le nombre d'entrées du cache
+	 */
+	public int getCapacity()
+	{
+		return mask + 1;
+	}
+
+	public int getSizeBits()
+	{
+		return sizeBits;
+	}
+
+	/**
+	 * Écrire sur le disque les entrées modifiées. Le système les écrit de toute façon tôt ou tard,
+	 * même si le programme s'arrête sans fermer le cache.
+	 */
+	@Override
+	public void close()
+	{
+		buffer.force();
+	}
+}
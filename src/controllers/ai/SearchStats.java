@@ -0,0 +1,321 @@
+package controllers.ai;
+
+import gamecore.Coords;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Mesures d'une recherche (un coup) : noeuds visités, coupes par profondeur, efficacité de la table
+ * de transposition, profondeur atteinte et temps de chaque itération de l'approfondissement itératif.
+ * <p>
+ * Une instance est remplie par l'IA pendant son coup puis n'est plus modifiée ; {@link #toJson()} la résume
+ * sur une seule ligne JSON pour suivre les performances d'une version ou d'une machine à l'autre.
+ */
+public class SearchStats
+{
+	/**
+	 * Itération de l'approfondissement itératif
+	 *
+	 * @param depth Profondeur cherchée
+	 * @param nodes Noeuds visités pendant cette itération
+	 * @param nanos Durée de l'itération en nanosecondes
+	 * @param completed false si l'itération a été interrompue faute de temps
+	 */
+	public record Iteration(int depth, long nodes, long nanos, boolean completed)
+	{
+	}
+
+	private final int threadCount;
+	private final List<Iteration> iterations = new ArrayList<>();
+	private long[] cutoffsByPly = new long[0];
+
+	private long nodesVisited;
+	private long nodesPruned;
+	private long transpositionProbes;
+	private long transpositionHits;
+	private long cacheHits;
+	private long pvsResearches;
+	private long aspirationResearches;
+	private int depthReached;
+	private long elapsedNanos;
+	private Coords move;
+	private int score;
+	private boolean isPonderHit;
+	private Coords[] principalVariation = new Coords[0];
+
+	/**
+	 * @param threadCount Nombre de threads de la recherche
+	 */
+	public SearchStats(int threadCount)
+	{
+		this.threadCount = threadCount;
+	}
+
+	void addIteration(int depth, long nodes, long nanos, boolean completed)
+	{
+		iterations.add(new Iteration(depth, nodes, nanos, completed));
+	}
+
+	void setCounters(long nodesVisited, long nodesPruned, long transpositionProbes, long transpositionHits, long[] cutoffsByPly)
+	{
+		this.nodesVisited = nodesVisited;
+		this.nodesPruned = nodesPruned;
+		this.transpositionProbes = transpositionProbes;
+		this.transpositionHits = transpositionHits;
+
+		int length = cutoffsByPly.length;
+		while (length > 0 && cutoffsByPly[length - 1] == 0) length--;
+		this.cutoffsByPly = Arrays.copyOf(cutoffsByPly, length);
+	}
+
+	void setCacheHits(long cacheHits)
+	{
+		this.cacheHits = cacheHits;
+	}
+
+	void setResearches(long pvsResearches, long aspirationResearches)
+	{
+		this.pvsResearches = pvsResearches;
+		this.aspirationResearches = aspirationResearches;
+	}
+
+	void setPrincipalVariation(Coords[] principalVariation)
+	{
+		this.principalVariation = principalVariation;
+	}
+
+	void setPonderHit()
+	{
+		isPonderHit = true;
+	}
+
+	void setResult(Coords move, int score, long elapsedNanos)
+	{
+		this.move = move;
+		this.score = score;
+		this.elapsedNanos = elapsedNanos;
+		for (Iteration iteration : iterations)
+		{
+			if (iteration.completed()) depthReached = Math.max(depthReached, iteration.depth());
+		}
+	}
+
+	public long getNodesVisited()
+	{
+		return nodesVisited;
+	}
+
+	public long getNodesPruned()
+	{
+		return nodesPruned;
+	}
+
+	/**
+	 * Obtenir le nombre de noeuds visités par seconde. Lors d'une réflexion anticipée réussie, la durée retenue
+	 * est celle des itérations, commencées pendant le temps de l'adversaire.
+	 */
+	public long getNodesPerSecond()
+	{
+		long searchNanos = elapsedNanos;
+		if (isPonderHit)
+		{
+			searchNanos = 0;
+			for (Iteration iteration : iterations)
+			{
+				searchNanos += iteration.nanos();
+			}
+		}
+		return searchNanos > 0 ? nodesVisited * 1_000_000_000L / searchNanos : 0;
+	}
+
+	/**
+	 * Obtenir le nombre de coupes alpha-bêta à chaque profondeur depuis la racine
+	 *
+	 * @return Copie du tableau, indexé par profondeur
+	 */
+	public long[] getCutoffsByPly()
+	{
+		return cutoffsByPly.clone();
+	}
+
+	/**
+	 * Obtenir le facteur de branchement effectif : rapport entre les noeuds des deux dernières itérations terminées,
+	 * ou racine d-ième du nombre de noeuds s'il n'y a eu qu'une itération
+	 */
+	public double getEffectiveBranchingFactor()
+	{
+		Iteration last = null;
+		Iteration previous = null;
+		for (Iteration iteration : iterations)
+		{
+			if (!iteration.completed()) continue;
+			previous = last;
+			last = iteration;
+		}
+		if (last == null) return 0;
+		if (previous != null && previous.nodes() > 0) return (double) last.nodes() / previous.nodes();
+		return Math.pow(last.nodes(), 1.0 / Math.max(1, last.depth()));
+	}
+
+	public long getTranspositionProbes()
+	{
+		return transpositionProbes;
+	}
+
+	public long getTranspositionHits()
+	{
+		return transpositionHits;
+	}
+
+	/**
+	 * Obtenir le nombre de positions trouvées dans le cache de recherche persistant, parmi les succès de la table
+	 * de transposition
+	 */
+	public long getCacheHits()
+	{
+		return cacheHits;
+	}
+
+	/**
+	 * Obtenir la proportion de consultations de la table de transposition qui ont trouvé la position
+	 */
+	public double getTranspositionHitRate()
+	{
+		return transpositionProbes > 0 ? (double) transpositionHits / transpositionProbes : 0;
+	}
+
+	/**
+	 * Obtenir le nombre de coups qui, testés en fenêtre nulle, ont fait mieux que le meilleur coup connu
+	 * et ont été cherchés à nouveau avec une fenêtre complète
+	 */
+	public long getPvsResearches()
+	{
+		return pvsResearches;
+	}
+
+	/**
+	 * Obtenir le nombre de fois où le score de la racine est sorti de la fenêtre d'aspiration
+	 */
+	public long getAspirationResearches()
+	{
+		return aspirationResearches;
+	}
+
+	/**
+	 * Obtenir la variation principale : le coup joué puis la suite attendue des deux joueurs
+	 *
+	 * @return Copie de la variation, vide si le coup n'a pas été trouvé par une recherche
+	 */
+	public Coords[] getPrincipalVariation()
+	{
+		return principalVariation.clone();
+	}
+
+	/**
+	 * Obtenir la profondeur de la dernière itération terminée (0 si le coup ne vient pas d'une recherche)
+	 */
+	public int getDepthReached()
+	{
+		return depthReached;
+	}
+
+	/**
+	 * Obtenir le temps de réponse du coup. Lors d'une réflexion anticipée réussie, il ne compte que l'attente
+	 * après le coup de l'adversaire, pas la recherche faite pendant son temps.
+	 */
+	public long getElapsedNanos()
+	{
+		return elapsedNanos;
+	}
+
+	/**
+	 * Indiquer si le coup vient d'une réflexion anticipée pendant le temps de l'adversaire, qui avait prévu son coup
+	 */
+	public boolean isPonderHit()
+	{
+		return isPonderHit;
+	}
+
+	public List<Iteration> getIterations()
+	{
+		return List.copyOf(iterations);
+	}
+
+	public int getThreadCount()
+	{
+		return threadCount;
+	}
+
+	public Coords getMove()
+	{
+		return move;
+	}
+
+	public int getScore()
+	{
+		return score;
+	}
+
+	/**
+	 * Résumer la recherche sur une ligne JSON
+	 *
+	 * @return Objet JSON sans retour à la ligne
+	 */
+	public String toJson()
+	{
+		StringBuilder json = new StringBuilder(256);
+		json.append("{\"depth\":").append(depthReached)
+				.append(",\"threads\":").append(threadCount)
+				.append(",\"nodes\":").append(nodesVisited)
+				.append(",\"nodesPerSecond\":").append(getNodesPerSecond())
+				.append(",\"pruned\":").append(nodesPruned)
+				.append(",\"ebf\":").append(String.format(Locale.ROOT, "%.3f", getEffectiveBranchingFactor()))
+				.append(",\"ttProbes\":").append(transpositionProbes)
+				.append(",\"ttHits\":").append(transpositionHits)
+				.append(",\"ttHitRate\":").append(String.format(Locale.ROOT, "%.4f", getTranspositionHitRate()))
+				.append(",\"cacheHits\":").append(cacheHits)
+				.append(",\"pvsResearches\":").append(pvsResearches)
+				.append(",\"aspirationResearches\":").append(aspirationResearches)
+				.append(",\"timeMillis\":").append(String.format(Locale.ROOT, "%.3f", elapsedNanos / 1e6))
+				.append(",\"ponderHit\":").append(isPonderHit);
+		if (move != null) json.append(",\"move\":[").append(move.column).append(',').append(move.row).append(']');
+		json.append(",\"score\":").append(score);
+
+		json.append(",\"pv\":[");
+		for (int i = 0; i < principalVariation.length; i++)
+		{
+			if (i > 0) json.append(',');
+			json.append('[').append(principalVariation[i].column).append(',').append(principalVariation[i].row).append(']');
+		}
+		json.append(']');
+
+		json.append(",\"cutoffsByPly\":[");
+		for (int ply = 0; ply < cutoffsByPly.length; ply++)
+		{
+			if (ply > 0) json.append(',');
+			json.append(cutoffsByPly[ply]);
+		}
+
+		json.append("],\"iterations\":[");
+		for (int i = 0; i < iterations.size(); i++)
+		{
+			Iteration iteration = iterations.get(i);
+			if (i > 0) json.append(',');
+			json.append("{\"depth\":").append(iteration.depth())
+					.append(",\"nodes\":").append(iteration.nodes())
+					.append(",\"timeMillis\":").append(String.format(Locale.ROOT, "%.3f", iteration.nanos() / 1e6))
+					.append(",\"completed\":").append(iteration.completed())
+					.append('}');
+		}
+		return json.append("]}").toString();
+	}
+
+	@Override
+	public String toString()
+	{
+		return toJson();
+	}
+}
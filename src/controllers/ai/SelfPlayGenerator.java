@@ -0,0 +1,261 @@
+package controllers.ai;
+
+import gamecore.Coords;
+import gamecore.GomokuBoard;
+import gamecore.enums.Player;
+import gamecore.enums.WinnerState;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Génération de positions d'entraînement de l'évaluation par des parties de l'IA Elagage contre elle-même.
+ * <p>
+ * Chaque thread joue des parties complètes, puis les passe à un thread d'écriture unique par une file bornée :
+ * les threads de jeu attendent quand l'écriture prend du retard, si bien que la mémoire utilisée ne dépend pas
+ * du nombre de positions générées. Chaque position cherchée par l'IA est écrite avec le joueur qui doit jouer,
+ * le score de sa recherche et l'issue de la partie ({@link TrainingDataWriter}).
+ */
+public class SelfPlayGenerator
+{
+	/**
+	 * Nombre de parties terminées en attente d'écriture
+	 */
+	private static final int QUEUE_CAPACITY = 64;
+
+	/**
+	 * Demi-côté du carré central des coups d'ouverture tirés au hasard
+	 */
+	private static final int OPENING_RADIUS = 2;
+
+	/**
+	 * Partie jouée : cases jouées dans l'ordre (les blancs commencent), score de la recherche avant chaque coup
+	 * et issue. Les coups d'ouverture tirés au hasard ne sont pas cherchés et ne donnent pas de position.
+	 */
+	private static final class PlayedGame
+	{
+		private static final PlayedGame END = new PlayedGame(new int[0], new int[0], 0, 0, WinnerState.None);
+
+		private final int[] moves;
+		private final int[] scores;
+		private final int moveCount;
+		private final int openingMoves;
+		private final WinnerState result;
+
+		private PlayedGame(int[] moves, int[] scores, int moveCount, int openingMoves, WinnerState result)
+		{
+			this.moves = moves;
+			this.scores = scores;
+			this.moveCount = moveCount;
+			this.openingMoves = openingMoves;
+			this.result = result;
+		}
+	}
+
+	private final int boardSize;
+	private final int depth;
+	private final long timeBudgetMillis;
+	private final int openingMoves;
+
+	/**
+	 * @param boardSize Taille du plateau des parties
+	 * @param depth Profondeur de recherche de l'IA
+	 * @param timeBudgetMillis Temps de réflexion par coup en ms (0 pour une recherche à profondeur fixe)
+	 * @param openingMoves Nombre de coups d'ouverture tirés au hasard près du centre pour varier les parties
+	 * @throws IllegalArgumentException Si la taille du plateau ou le nombre de coups d'ouverture n'est pas valide
+	 */
+	public SelfPlayGenerator(int boardSize, int depth, long timeBudgetMillis, int openingMoves)
+	{
+		if (boardSize < GomokuBoard.MIN_SIZE || boardSize > GomokuBoard.MAX_SIZE)
+			throw new IllegalArgumentException("Taille de plateau invalide : " + boardSize + ".");
+		int openingSide = Math.min(boardSize, 2 * OPENING_RADIUS + 1);
+		if (openingMoves < 0 || openingMoves >= openingSide * openingSide)
+			throw new IllegalArgumentException("Nombre de coups d'ouverture invalide : " + openingMoves + ".");
+
+		this.boardSize = boardSize;
+		this.depth = depth;
+		this.timeBudgetMillis = timeBudgetMillis;
+		this.openingMoves = openingMoves;
+	}
+
+	/**
+	 * Jouer des parties sur plusieurs threads et écrire leurs positions
+	 *
+	 * @param path Fichier de positions à créer
+	 * @param games Nombre de parties
+	 * @param threadCount Nombre de threads de jeu
+	 * @return Nombre de positions écrites
+	 * @throws IOException Si le fichier ne peut pas être écrit
+	 */
+	public long generate(Path path, int games, int threadCount) throws IOException
+	{
+		BlockingQueue<PlayedGame> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+		AtomicInteger nextGame = new AtomicInteger();
+		long startTime = System.nanoTime();
+
+		ExecutorService executor = Executors.newFixedThreadPool(threadCount + 1); // Threads de jeu et attente de leur fin
+		try (TrainingDataWriter writer = new TrainingDataWriter(path, boardSize))
+		{
+			List<Future<?>> players = new ArrayList<>();
+			for (int thread = 0; thread < threadCount; thread++)
+			{
+				long seed = System.nanoTime() + thread;
+				players.add(executor.submit(() ->
+				{
+					Random random = new Random(seed);
+					while (nextGame.getAndIncrement() < games)
+					{
+						queue.put(playGame(random));
+					}
+					return null;
+				}));
+			}
+			Future<?> end = executor.submit(() ->
+			{ // Fin de la file une fois toutes les parties jouées, même si un thread de jeu a échoué
+				try
+				{
+					for (Future<?> player : players) player.get();
+				}
+				finally
+				{
+					queue.put(PlayedGame.END);
+				}
+				return null;
+			});
+
+			GomokuBoard board = new GomokuBoard(boardSize);
+			int written = 0;
+			for (PlayedGame game = queue.take(); game != PlayedGame.END; game = queue.take())
+			{
+				writeGame(writer, board, game);
+				written++;
+				if (written % 10 == 0 || written == games)
+				{
+					double seconds = (System.nanoTime() - startTime) / 1e9;
+					System.out.printf("%d/%d parties, %d positions (%.0f positions/s)%n",
+							written, games, writer.getPositionCount(), writer.getPositionCount() / seconds);
+				}
+			}
+			end.get();
+			return writer.getPositionCount();
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new IOException("Génération interrompue.", e);
+		}
+		catch (ExecutionException e)
+		{
+			throw new IllegalStateException("Une partie a échoué.", e.getCause());
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Jouer une partie de l'IA Elagage contre elle-même
+	 */
+	private PlayedGame playGame(Random random)
+	{
+		GomokuBoard board = new GomokuBoard(boardSize);
+		AI_Elagage white = new AI_Elagage(depth, Player.White, timeBudgetMillis);
+		AI_Elagage black = new AI_Elagage(depth, Player.Black, timeBudgetMillis);
+		int[] moves = new int[board.getCellCount()];
+		int[] scores = new int[board.getCellCount()];
+		int moveCount = 0;
+
+		Player player = Player.White;
+		WinnerState winner = WinnerState.None;
+		while (winner == WinnerState.None)
+		{
+			int cell;
+			if (moveCount < openingMoves)
+			{
+				cell = openingMove(board, random);
+			}
+			else
+			{
+				AI_Elagage ai = player == Player.White ? white : black;
+				Coords move = ai.play(board, player);
+				cell = board.index(move.column, move.row);
+				scores[moveCount] = ai.getLastSearchStats().getScore();
+			}
+
+			board.play(cell, player == Player.White ? GomokuBoard.WHITE : GomokuBoard.BLACK);
+			moves[moveCount++] = cell;
+			winner = board.getWinnerStateAfter(cell);
+			player = player == Player.White ? Player.Black : Player.White;
+		}
+		white.gameOver();
+		black.gameOver();
+		return new PlayedGame(moves, scores, moveCount, Math.min(openingMoves, moveCount), winner);
+	}
+
+	/**
+	 * Tirer au hasard une case vide du carré central
+	 */
+	private int openingMove(GomokuBoard board, Random random)
+	{
+		int low = Math.max(0, boardSize / 2 - OPENING_RADIUS);
+		int side = Math.min(boardSize - low, 2 * OPENING_RADIUS + 1);
+		int cell;
+		do
+		{
+			cell = board.index(low + random.nextInt(side), low + random.nextInt(side));
+		}
+		while (board.getCode(cell) != GomokuBoard.EMPTY);
+		return cell;
+	}
+
+	/**
+	 * Rejouer une partie et écrire la position avant chaque coup cherché
+	 *
+	 * @param board Plateau vide, rendu vide
+	 */
+	private static void writeGame(TrainingDataWriter writer, GomokuBoard board, PlayedGame game) throws IOException
+	{
+		Player player = Player.White;
+		for (int ply = 0; ply < game.moveCount; ply++)
+		{
+			if (ply >= game.openingMoves) writer.write(board, player, game.scores[ply], game.result);
+			board.play(game.moves[ply], player == Player.White ? GomokuBoard.WHITE : GomokuBoard.BLACK);
+			player = player == Player.White ? Player.Black : Player.White;
+		}
+		for (int ply = 0; ply < game.moveCount; ply++)
+		{
+			board.undo();
+		}
+	}
+
+	/**
+	 * Générer un fichier de positions d'entraînement sur tous les coeurs.
+	 * <p>
+	 * Arguments : fichier, nombre de parties, profondeur, temps par coup en ms, taille du plateau,
+	 * nombre de coups d'ouverture aléatoires, nombre de threads
+	 */
+	public static void main(String[] args) throws IOException
+	{
+		Path path = Path.of(args.length > 0 ? args[0] : "training.bin.gz");
+		int games = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+		int depth = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+		long timeBudget = args.length > 3 ? Long.parseLong(args[3]) : 100;
+		int boardSize = args.length > 4 ? Integer.parseInt(args[4]) : GomokuBoard.DEFAULT_SIZE;
+		int openingMoves = args.length > 5 ? Integer.parseInt(args[5]) : 4;
+		int threads = args.length > 6 ? Integer.parseInt(args[6]) : Runtime.getRuntime().availableProcessors();
+
+		long positions = new SelfPlayGenerator(boardSize, depth, timeBudget, openingMoves).generate(path, games, threads);
+		System.out.println(positions + " positions écrites dans " + path);
+	}
+}
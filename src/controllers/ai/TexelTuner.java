@@ -0,0 +1,614 @@
+package controllers.ai;
+
+import gamecore.GomokuBoard;
+import gamecore.enums.WinnerState;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Ajustement des poids d'une {@link PatternTable} sur des positions d'entraînement (méthode de Texel).
+ * <p>
+ * Le score d'une position est ramené à une probabilité de victoire des blancs par {@code 1 / (1 + exp(-K * score))},
+ * et les poids minimisent l'écart quadratique moyen entre cette probabilité et l'issue de la partie
+ * (1 victoire des blancs, 0.5 égalité, 0 victoire des noirs), éventuellement mêlée à la probabilité donnée par le score
+ * de la recherche. Le score de l'évaluation étant linéaire en chaque poids, chaque position se résume à 5 compteurs
+ * (fenêtres d'une seule couleur de 1 à 4 pièces, blanches moins noires, et somme des bonus de centralité),
+ * et les poids sont ajustés par la méthode de Levenberg-Marquardt : chaque itération est une lecture du fichier.
+ * <p>
+ * Le fichier est relu à chaque itération et jamais chargé en entier : un thread de lecture décompresse les positions
+ * par paquets, distribués aux threads de calcul par une file bornée, et les paquets traités sont réutilisés.
+ * Le poids des fenêtres vides et le score d'un alignement de 5 ne sont pas ajustés, et les poids ajustés restent
+ * positifs et croissants avec le nombre de pièces.
+ */
+public class TexelTuner
+{
+	/**
+	 * Nombre de positions par paquet
+	 */
+	private static final int CHUNK_SIZE = 4096;
+
+	/**
+	 * Paramètres ajustés : poids des fenêtres de 1 à 4 pièces, puis multiplicateur du bonus de centralité
+	 */
+	private static final int PARAMETER_COUNT = PatternTable.WINDOW;
+
+	/**
+	 * Les positions dont la recherche a trouvé un gain forcé sont ignorées : leur issue ne dépend plus de l'évaluation
+	 */
+	private static final int MAX_SEARCH_SCORE = PatternTable.FIVE_SCORE;
+
+	/**
+	 * Amortissement minimal de chaque paramètre, en part de la moyenne de la diagonale de J^T J : quand la sigmoïde
+	 * sature, la dérivée d'un poids rare (fenêtres de 4) est presque nulle, et un amortissement proportionnel à sa seule
+	 * diagonale ne limiterait plus son pas
+	 */
+	private static final double DAMPING_FLOOR = 1e-3;
+
+	/**
+	 * Paquet de positions : codes des cases (position après position), score de la recherche et issue
+	 */
+	private static final class Chunk
+	{
+		private static final Chunk END = new Chunk(0);
+
+		private final byte[] cells;
+		private final int[] scores = new int[CHUNK_SIZE];
+		private final double[] results = new double[CHUNK_SIZE];
+		private int count;
+
+		private Chunk(int cellCount)
+		{
+			cells = new byte[cellCount * CHUNK_SIZE];
+		}
+	}
+
+	/**
+	 * Sommes d'une lecture du fichier : erreur quadratique, J^T J et J^T r (J dérivées des probabilités par rapport
+	 * aux paramètres, r écarts aux issues)
+	 */
+	private static final class Sums
+	{
+		private final double[][] jtj = new double[PARAMETER_COUNT][PARAMETER_COUNT];
+		private final double[] jtr = new double[PARAMETER_COUNT];
+		private double error;
+		private long count;
+
+		private void add(Sums other)
+		{
+			for (int i = 0; i < PARAMETER_COUNT; i++)
+			{
+				for (int j = 0; j < PARAMETER_COUNT; j++) jtj[i][j] += other.jtj[i][j];
+				jtr[i] += other.jtr[i];
+			}
+			error += other.error;
+			count += other.count;
+		}
+
+		private double getLoss()
+		{
+			return count == 0 ? 0 : error / count;
+		}
+	}
+
+	private final Path path;
+	private final int threadCount;
+	private final double searchWeight;
+	private final int boardSize;
+	private final int cellCount;
+
+	/**
+	 * Lignes du plateau d'au moins 5 cases, rangées comme dans {@link BatchEvaluator}, et bonus de centralité
+	 * de chaque case pour un multiplicateur de 1
+	 */
+	private final int[] lineOffsets;
+	private final int[] lineCells;
+	private final int[] cellBonus;
+
+	/**
+	 * Poids des fenêtres vides, non ajusté
+	 */
+	private final int emptyWeight;
+
+	/**
+	 * Paramètres courants (poids des fenêtres de 1 à 4 pièces, multiplicateur de centralité) et échelle K
+	 */
+	private double[] parameters = new double[PARAMETER_COUNT];
+	private double scale = 1e-3;
+
+	/**
+	 * Nombre de pas qui ont réduit l'erreur lors du dernier ajustement
+	 */
+	private int acceptedSteps;
+
+	/**
+	 * @param path Fichier de positions écrit par {@link TrainingDataWriter}
+	 * @param initial Table de motifs de départ
+	 * @param threadCount Nombre de threads de calcul
+	 * @param searchWeight Part de la probabilité donnée par le score de la recherche dans la cible, de 0 à 1
+	 * (0 : issue de la partie seule)
+	 * @throws IOException Si le fichier ne peut pas être lu
+	 * @throws IllegalArgumentException Si la part du score de la recherche n'est pas entre 0 et 1
+	 */
+	public TexelTuner(Path path, PatternTable initial, int threadCount, double searchWeight) throws IOException
+	{
+		if (searchWeight < 0 || searchWeight > 1)
+			throw new IllegalArgumentException("La part du score de la recherche doit être entre 0 et 1 : " + searchWeight + ".");
+
+		this.path = path;
+		this.threadCount = threadCount;
+		this.searchWeight = searchWeight;
+		try (TrainingDataReader reader = new TrainingDataReader(path))
+		{
+			boardSize = reader.getBoardSize();
+		}
+
+		GomokuBoard geometry = new GomokuBoard(boardSize);
+		cellCount = geometry.getCellCount();
+		lineOffsets = new int[geometry.getLineCount() + 1];
+		for (int line = 0; line < geometry.getLineCount(); line++)
+		{
+			lineOffsets[line + 1] = lineOffsets[line] + geometry.getLineLength(line);
+		}
+		lineCells = new int[lineOffsets[geometry.getLineCount()]];
+		for (int line = 0; line < geometry.getLineCount(); line++)
+		{
+			for (int position = 0; position < geometry.getLineLength(line); position++)
+			{
+				lineCells[lineOffsets[line] + position] = geometry.getLineCell(line, position);
+			}
+		}
+
+		PatternTable unit = new PatternTable(new int[PatternTable.WINDOW], 1);
+		cellBonus = new int[cellCount];
+		for (int cell = 0; cell < cellCount; cell++)
+		{
+			cellBonus[cell] = unit.getCentralityBonus(geometry.getCenterDistance(cell));
+		}
+
+		int[] weights = initial.getWeights();
+		emptyWeight = weights[0];
+		for (int i = 1; i < PatternTable.WINDOW; i++) parameters[i - 1] = weights[i];
+		parameters[PARAMETER_COUNT - 1] = initial.getCentralityWeight();
+	}
+
+	/**
+	 * Choisir l'échelle K qui minimise l'erreur des paramètres courants sur les premières positions du fichier
+	 * (recherche par section dorée sur log10(K), de 1e-7 à 1)
+	 *
+	 * @param sampleSize Nombre de positions utilisées, gardées en mémoire
+	 * @return Echelle choisie
+	 * @throws IOException Si le fichier ne peut pas être lu
+	 */
+	public double fitScale(int sampleSize) throws IOException
+	{
+		double[] evaluations = new double[sampleSize];
+		int[] searchScores = new int[sampleSize];
+		double[] results = new double[sampleSize];
+		int count = 0;
+		int[] counts = new int[2 * PatternTable.WINDOW + 1];
+		double[] features = new double[PARAMETER_COUNT + 1];
+		byte[] cells = new byte[cellCount];
+		try (TrainingDataReader reader = new TrainingDataReader(path))
+		{
+			while (count < sampleSize && reader.next())
+			{
+				if (Math.abs(reader.getScore()) >= MAX_SEARCH_SCORE) continue;
+				reader.getCells(cells, 0);
+				extractFeatures(cells, 0, counts, features);
+				evaluations[count] = evaluate(features, parameters);
+				searchScores[count] = reader.getScore();
+				results[count] = resultOf(reader.getResult());
+				count++;
+			}
+		}
+
+		double low = -7;
+		double high = 0;
+		double ratio = (Math.sqrt(5) - 1) / 2;
+		for (int step = 0; step < 60; step++)
+		{
+			double left = high - ratio * (high - low);
+			double right = low + ratio * (high - low);
+			if (sampleLoss(Math.pow(10, left), evaluations, searchScores, results, count)
+					< sampleLoss(Math.pow(10, right), evaluations, searchScores, results, count)) high = right;
+			else low = left;
+		}
+		scale = Math.pow(10, (low + high) / 2);
+		return scale;
+	}
+
+	private double sampleLoss(double k, double[] evaluations, int[] searchScores, double[] results, int count)
+	{
+		double error = 0;
+		for (int i = 0; i < count; i++)
+		{
+			double residual = sigmoid(k * evaluations[i]) - target(k, searchScores[i], results[i]);
+			error += residual * residual;
+		}
+		return count == 0 ? 0 : error / count;
+	}
+
+	/**
+	 * Ajuster les paramètres par itérations de Levenberg-Marquardt, chacune lisant tout le fichier
+	 *
+	 * @param iterations Nombre maximal de lectures du fichier
+	 * @return Table de motifs ajustée, poids arrondis à l'entier ; table de départ si aucun pas n'a réduit l'erreur
+	 * (voir {@link #getAcceptedSteps()})
+	 * @throws IOException Si le fichier ne peut pas être lu
+	 */
+	public PatternTable tune(int iterations) throws IOException
+	{
+		acceptedSteps = 0;
+		ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+		try
+		{
+			double damping = 1e-3;
+			double[] best = parameters.clone();
+			Sums bestSums = null;
+			for (int iteration = 0; iteration < iterations; iteration++)
+			{
+				long startTime = System.nanoTime();
+				Sums sums = pass(executor, parameters, true);
+				double seconds = (System.nanoTime() - startTime) / 1e9;
+				boolean isBetter = bestSums == null || sums.getLoss() < bestSums.getLoss();
+				System.out.printf("Itération %d : erreur %.6f sur %d positions (%.0f positions/s), paramètres %s%s%n",
+						iteration + 1, sums.getLoss(), sums.count, sums.count / seconds, format(parameters), isBetter ? "" : " rejetés");
+
+				if (isBetter)
+				{
+					boolean isConverged = bestSums != null && bestSums.getLoss() - sums.getLoss() < 1e-9 * bestSums.getLoss();
+					if (bestSums != null) acceptedSteps++;
+					best = parameters.clone();
+					bestSums = sums;
+					damping = Math.max(damping / 3, 1e-9);
+					if (isConverged) break;
+				}
+				else
+				{ // Le pas a augmenté l'erreur : repartir des meilleurs paramètres avec un pas plus court
+					damping *= 10;
+				}
+				parameters = step(best, bestSums, damping);
+			}
+			parameters = best;
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+		return toPatternTable(parameters);
+	}
+
+	/**
+	 * Calculer l'erreur d'une table de motifs sur tout le fichier, avec l'échelle courante
+	 *
+	 * @return Erreur quadratique moyenne
+	 * @throws IOException Si le fichier ne peut pas être lu
+	 */
+	public double loss(PatternTable patterns) throws IOException
+	{
+		if (patterns.getWeights()[0] != emptyWeight)
+			throw new IllegalArgumentException("Le poids des fenêtres vides doit être " + emptyWeight + " : " + patterns.getWeights()[0] + ".");
+
+		double[] values = new double[PARAMETER_COUNT];
+		for (int i = 1; i < PatternTable.WINDOW; i++) values[i - 1] = patterns.getWeights()[i];
+		values[PARAMETER_COUNT - 1] = patterns.getCentralityWeight();
+
+		ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+		try
+		{
+			return pass(executor, values, false).getLoss();
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Paramètres suivants : solution de (J^T J + amortissement * D) delta = -J^T r, avec D la diagonale de J^T J
+	 * bornée par le bas à DAMPING_FLOOR fois sa moyenne, ramenée aux poids admissibles ({@link #constrain})
+	 */
+	private static double[] step(double[] from, Sums sums, double damping)
+	{
+		double trace = 0;
+		for (int i = 0; i < PARAMETER_COUNT; i++) trace += sums.jtj[i][i];
+		double floor = DAMPING_FLOOR * trace / PARAMETER_COUNT + 1e-12;
+
+		double[][] matrix = new double[PARAMETER_COUNT][PARAMETER_COUNT + 1];
+		for (int i = 0; i < PARAMETER_COUNT; i++)
+		{
+			for (int j = 0; j < PARAMETER_COUNT; j++) matrix[i][j] = sums.jtj[i][j];
+			matrix[i][i] += damping * Math.max(sums.jtj[i][i], floor);
+			matrix[i][PARAMETER_COUNT] = -sums.jtr[i];
+		}
+
+		// Elimination de Gauss avec pivot partiel
+		for (int column = 0; column < PARAMETER_COUNT; column++)
+		{
+			int pivot = column;
+			for (int row = column + 1; row < PARAMETER_COUNT; row++)
+			{
+				if (Math.abs(matrix[row][column]) > Math.abs(matrix[pivot][column])) pivot = row;
+			}
+			double[] swap = matrix[column];
+			matrix[column] = matrix[pivot];
+			matrix[pivot] = swap;
+			for (int row = column + 1; row < PARAMETER_COUNT; row++)
+			{
+				double factor = matrix[row][column] / matrix[column][column];
+				for (int j = column; j <= PARAMETER_COUNT; j++) matrix[row][j] -= factor * matrix[column][j];
+			}
+		}
+
+		double[] next = from.clone();
+		double[] delta = new double[PARAMETER_COUNT];
+		for (int row = PARAMETER_COUNT - 1; row >= 0; row--)
+		{
+			double value = matrix[row][PARAMETER_COUNT];
+			for (int j = row + 1; j < PARAMETER_COUNT; j++) value -= matrix[row][j] * delta[j];
+			delta[row] = value / matrix[row][row];
+			next[row] += delta[row];
+		}
+		constrain(next);
+		return next;
+	}
+
+	/**
+	 * Ramener les paramètres aux poids admissibles : poids des fenêtres strictement croissants, d'au moins 1
+	 * et en dessous du score d'un alignement de 5, écarts d'au moins 1 pour le rester une fois arrondis,
+	 * multiplicateur de centralité positif ou nul
+	 */
+	private static void constrain(double[] values)
+	{
+		int last = PatternTable.WINDOW - 2; // Index du poids des fenêtres de 4 pièces
+		values[0] = Math.max(values[0], 1);
+		for (int i = 1; i <= last; i++) values[i] = Math.max(values[i], values[i - 1] + 1);
+		values[last] = Math.min(values[last], PatternTable.FIVE_SCORE - 1);
+		for (int i = last - 1; i >= 0; i--) values[i] = Math.min(values[i], values[i + 1] - 1);
+		values[PARAMETER_COUNT - 1] = Math.max(values[PARAMETER_COUNT - 1], 0);
+	}
+
+	/**
+	 * Lire tout le fichier et calculer l'erreur des paramètres, et si demandé J^T J et J^T r
+	 */
+	private Sums pass(ExecutorService executor, double[] values, boolean withDerivatives) throws IOException
+	{
+		BlockingQueue<Chunk> free = new ArrayBlockingQueue<>(2 * threadCount);
+		BlockingQueue<Chunk> full = new ArrayBlockingQueue<>(2 * threadCount + threadCount);
+		for (int i = 0; i < 2 * threadCount; i++) free.add(new Chunk(cellCount));
+
+		List<Future<Sums>> workers = new ArrayList<>();
+		for (int thread = 0; thread < threadCount; thread++)
+		{
+			workers.add(executor.submit(() ->
+			{
+				Sums sums = new Sums();
+				int[] counts = new int[2 * PatternTable.WINDOW + 1];
+				double[] features = new double[PARAMETER_COUNT + 1];
+				for (Chunk chunk = full.take(); chunk != Chunk.END; chunk = full.take())
+				{
+					accumulate(chunk, values, withDerivatives, counts, features, sums);
+					free.put(chunk);
+				}
+				return sums;
+			}));
+		}
+
+		try
+		{
+			try (TrainingDataReader reader = new TrainingDataReader(path))
+			{
+				Chunk chunk = free.take();
+				chunk.count = 0;
+				while (reader.next())
+				{
+					if (Math.abs(reader.getScore()) >= MAX_SEARCH_SCORE) continue;
+
+					reader.getCells(chunk.cells, chunk.count * cellCount);
+					chunk.scores[chunk.count] = reader.getScore();
+					chunk.results[chunk.count] = resultOf(reader.getResult());
+					if (++chunk.count == CHUNK_SIZE)
+					{
+						full.put(chunk);
+						chunk = free.take();
+						chunk.count = 0;
+					}
+				}
+				if (chunk.count > 0) full.put(chunk);
+			}
+			finally
+			{ // Arrêter les threads de calcul même si la lecture a échoué
+				for (int thread = 0; thread < threadCount; thread++) full.put(Chunk.END);
+			}
+
+			Sums total = new Sums();
+			for (Future<Sums> worker : workers) total.add(worker.get());
+			return total;
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new IOException("Lecture interrompue.", e);
+		}
+		catch (ExecutionException e)
+		{
+			throw new IllegalStateException("Le calcul d'un paquet a échoué.", e.getCause());
+		}
+	}
+
+	/**
+	 * Ajouter les positions d'un paquet aux sommes d'un thread
+	 */
+	private void accumulate(Chunk chunk, double[] values, boolean withDerivatives, int[] counts, double[] features, Sums sums)
+	{
+		for (int position = 0; position < chunk.count; position++)
+		{
+			extractFeatures(chunk.cells, position * cellCount, counts, features);
+			double probability = sigmoid(scale * evaluate(features, values));
+			double residual = probability - target(scale, chunk.scores[position], chunk.results[position]);
+			sums.error += residual * residual;
+			sums.count++;
+			if (!withDerivatives) continue;
+
+			double slope = scale * probability * (1 - probability);
+			for (int i = 0; i < PARAMETER_COUNT; i++)
+			{
+				double derivative = slope * features[i];
+				if (derivative == 0) continue;
+				for (int j = 0; j < PARAMETER_COUNT; j++) sums.jtj[i][j] += derivative * slope * features[j];
+				sums.jtr[i] += derivative * residual;
+			}
+		}
+	}
+
+	/**
+	 * Résumer une position : pour 1 à 4 pièces, fenêtres ne contenant que des blanches moins fenêtres ne contenant
+	 * que des noires, puis somme des bonus de centralité (multiplicateur 1) ; la dernière case reçoit le score
+	 * des paramètres non ajustés (fenêtres vides et alignements de 5)
+	 *
+	 * @param cells Codes des cases de positions rangées à la suite
+	 * @param offset Index de la première case de la position
+	 * @param counts Tableau de travail de 2 * WINDOW + 1 cases : nombre de fenêtres d'une seule couleur,
+	 * à l'index WINDOW + blanches - noires
+	 * @param features Tableau de destination, de PARAMETER_COUNT + 1 cases
+	 */
+	private void extractFeatures(byte[] cells, int offset, int[] counts, double[] features)
+	{
+		Arrays.fill(counts, 0);
+		int centrality = 0;
+		for (int cell = 0; cell < cellCount; cell++)
+		{
+			byte code = cells[offset + cell];
+			if (code == GomokuBoard.WHITE) centrality += cellBonus[cell];
+			else if (code == GomokuBoard.BLACK) centrality -= cellBonus[cell];
+		}
+
+		for (int line = 0; line + 1 < lineOffsets.length; line++)
+		{
+			int start = lineOffsets[line];
+			int white = 0;
+			int black = 0;
+			for (int i = start; i < lineOffsets[line + 1]; i++)
+			{ // Fenêtre [i - 4, i] : ajouter la case i, compter la fenêtre puis retirer la case i - 4
+				byte code = cells[offset + lineCells[i]];
+				if (code == GomokuBoard.WHITE) white++;
+				else if (code == GomokuBoard.BLACK) black++;
+				if (i - start < PatternTable.WINDOW - 1) continue;
+
+				if (black == 0) counts[PatternTable.WINDOW + white]++;
+				else if (white == 0) counts[PatternTable.WINDOW - black]++;
+
+				byte first = cells[offset + lineCells[i - PatternTable.WINDOW + 1]];
+				if (first == GomokuBoard.WHITE) white--;
+				else if (first == GomokuBoard.BLACK) black--;
+			}
+		}
+
+		for (int pieces = 1; pieces < PatternTable.WINDOW; pieces++)
+		{
+			features[pieces - 1] = counts[PatternTable.WINDOW + pieces] - counts[PatternTable.WINDOW - pieces];
+		}
+		features[PARAMETER_COUNT - 1] = centrality;
+		features[PARAMETER_COUNT] = (double) emptyWeight * counts[PatternTable.WINDOW]
+				+ (double) PatternTable.FIVE_SCORE * (counts[2 * PatternTable.WINDOW] - counts[0]);
+	}
+
+	/**
+	 * Score d'une position résumée par {@link #extractFeatures}, égal à celui de {@link IncrementalEvaluator}
+	 * pour la table de motifs des paramètres
+	 */
+	private static double evaluate(double[] features, double[] values)
+	{
+		double score = features[PARAMETER_COUNT];
+		for (int i = 0; i < PARAMETER_COUNT; i++) score += values[i] * features[i];
+		return score;
+	}
+
+	private double target(double k, int searchScore, double result)
+	{
+		return searchWeight == 0 ? result : (1 - searchWeight) * result + searchWeight * sigmoid(k * searchScore);
+	}
+
+	private static double sigmoid(double x)
+	{
+		return 1 / (1 + Math.exp(-x));
+	}
+
+	private static double resultOf(WinnerState result)
+	{
+		return switch (result)
+		{
+			case White -> 1;
+			case Black -> 0;
+			default -> 0.5;
+		};
+	}
+
+	private PatternTable toPatternTable(double[] values)
+	{
+		int[] weights = new int[PatternTable.WINDOW];
+		weights[0] = emptyWeight;
+		for (int i = 1; i < PatternTable.WINDOW; i++) weights[i] = (int) Math.round(values[i - 1]);
+		return new PatternTable(weights, (int) Math.round(values[PARAMETER_COUNT - 1]));
+	}
+
+	private static String format(double[] values)
+	{
+		StringBuilder builder = new StringBuilder("[");
+		for (int i = 0; i < values.length; i++)
+		{
+			if (i > 0) builder.append(", ");
+			builder.append(String.format("%.2f", values[i]));
+		}
+		return builder.append(']').toString();
+	}
+
+	public double getScale()
+	{
+		return scale;
+	}
+
+	public int getAcceptedSteps()
+	{
+		return acceptedSteps;
+	}
+
+	/**
+	 * Ajuster les poids de la table de motifs par défaut sur un fichier de positions et afficher la table obtenue.
+	 * <p>
+	 * Arguments : fichier, nombre maximal d'itérations, nombre de threads, part du score de la recherche dans la cible,
+	 * nombre de positions utilisées pour choisir l'échelle
+	 */
+	public static void main(String[] args) throws IOException
+	{
+		Path path = Path.of(args.length > 0 ? args[0] : "training.bin.gz");
+		int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+		int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+		double searchWeight = args.length > 3 ? Double.parseDouble(args[3]) : 0;
+		int sampleSize = args.length > 4 ? Integer.parseInt(args[4]) : 100_000;
+
+		TexelTuner tuner = new TexelTuner(path, PatternTable.DEFAULT, threads, searchWeight);
+		System.out.printf("Echelle K = %.3g%n", tuner.fitScale(sampleSize));
+		double before = tuner.loss(PatternTable.DEFAULT);
+		PatternTable tuned = tuner.tune(iterations);
+		if (tuner.getAcceptedSteps() == 0)
+		{
+			System.out.printf("Aucun pas n'a réduit l'erreur (%.6f avec la table par défaut) : pas de table ajustée.%n", before);
+			return;
+		}
+		double after = tuner.loss(tuned);
+
+		System.out.printf("Erreur : %.6f avec la table par défaut, %.6f avec la table ajustée (%d pas acceptés)%n", before, after, tuner.getAcceptedSteps());
+		System.out.println("Poids : " + Arrays.toString(tuned.getWeights()) + ", centralité : " + tuned.getCentralityWeight());
+	}
+}
@@ -0,0 +1,460 @@
+package controllers.ai;
+
+import gamecore.GomokuBoard;
+
+/**
+ * Recherche de gains forcés par menaces (threat-space search).
+ * <p>
+ * Seuls les coups forçants de l'attaquant sont essayés : les quatre (menace de cinq au coup suivant),
+ * qui n'admettent qu'une seule parade, et pour la recherche VCT les trois ouverts (menace de quatre ouvert),
+ * qui n'admettent que quelques parades. Le facteur de branchement est ainsi de 1 à 3 au lieu de plusieurs dizaines,
+ * ce qui permet de regarder très loin en peu de temps.
+ * <ul>
+ *     <li>VCF (victoire par quatre successifs) : l'attaquant ne joue que des quatre</li>
+ *     <li>VCT (victoire par menaces successives) : l'attaquant joue des quatre et des trois ouverts</li>
+ * </ul>
+ * Un gain trouvé est sûr ; l'absence de gain ne prouve rien (profondeur et nombre de noeuds sont limités).
+ */
+public class ThreatSolver
+{
+	private final int maxVcfDepth;
+	private final int maxVctDepth;
+	private final long nodeLimit;
+
+	private long nodesVisited;
+	private int firstMove;
+
+	/**
+	 * Instant (System.nanoTime()) au-delà duquel les recherches sont abandonnées, 0 sans limite,
+	 * et indicateur d'abandon de la dernière recherche
+	 */
+	private long deadline;
+	private boolean isAborted;
+	private long budgetChecks;
+
+	/**
+	 * Tampons préalloués par demi-coup : cases candidates et cases de parade,
+	 * redimensionnés quand le solveur reçoit un plateau plus grand
+	 */
+	private final int[][] candidateBuffers;
+	private final int[][] replyBuffers;
+	private final int[] fiveCells = new int[8];
+
+	/**
+	 * @param maxVcfDepth Nombre maximum de quatre joués par l'attaquant dans une séquence VCF
+	 * @param maxVctDepth Nombre maximum de menaces jouées par l'attaquant dans une séquence VCT
+	 * @param nodeLimit Nombre maximum de positions examinées par recherche
+	 */
+	public ThreatSolver(int maxVcfDepth, int maxVctDepth, long nodeLimit)
+	{
+		this.maxVcfDepth = maxVcfDepth;
+		this.maxVctDepth = maxVctDepth;
+		this.nodeLimit = nodeLimit;
+
+		// Une séquence VCT utilise jusqu'à 4 demi-coups par menace, suivie d'une séquence VCF de 2 demi-coups par quatre
+		int maxPly = 4 * maxVctDepth + 2 * maxVcfDepth + 2;
+		candidateBuffers = new int[maxPly][0];
+		replyBuffers = new int[maxPly][0];
+	}
+
+	/**
+	 * Dimensionner les tampons pour le nombre de cases d'un plateau
+	 */
+	private void ensureCapacity(GomokuBoard board)
+	{
+		if (candidateBuffers[0].length >= board.getCellCount()) return;
+
+		for (int ply = 0; ply < candidateBuffers.length; ply++)
+		{
+			candidateBuffers[ply] = new int[board.getCellCount()];
+			replyBuffers[ply] = new int[board.getCellCount()];
+		}
+	}
+
+	/**
+	 * Fixer l'instant au-delà duquel les recherches sont abandonnées (elles ne trouvent alors pas de gain)
+	 *
+	 * @param deadline Instant donné par System.nanoTime(), 0 pour ne pas limiter le temps
+	 */
+	public void setDeadline(long deadline)
+	{
+		this.deadline = deadline;
+	}
+
+	/**
+	 * Indiquer si la dernière recherche a été abandonnée faute de temps : son absence de gain vaut encore moins
+	 */
+	public boolean isAborted()
+	{
+		return isAborted;
+	}
+
+	/**
+	 * Chercher une victoire forcée par quatre successifs
+	 *
+	 * @param board Plateau de jeu, c'est à l'attaquant de jouer (il est restauré à la fin de la recherche)
+	 * @param attacker Code de la couleur de l'attaquant
+	 * @return Index de la case du premier coup de la séquence gagnante, -1 si aucune n'a été trouvée
+	 */
+	public int findVcf(GomokuBoard board, byte attacker)
+	{
+		ensureCapacity(board);
+		nodesVisited = 0;
+		firstMove = -1;
+		isAborted = false;
+		return vcf(board, attacker, maxVcfDepth, 0) ? firstMove : -1;
+	}
+
+	/**
+	 * Chercher une victoire forcée par menaces successives (quatre et trois ouverts)
+	 *
+	 * @param board Plateau de jeu, c'est à l'attaquant de jouer (il est restauré à la fin de la recherche)
+	 * @param attacker Code de la couleur de l'attaquant
+	 * @return Index de la case du premier coup de la séquence gagnante, -1 si aucune n'a été trouvée
+	 */
+	public int findVct(GomokuBoard board, byte attacker)
+	{
+		ensureCapacity(board);
+		nodesVisited = 0;
+		firstMove = -1;
+		isAborted = false;
+		return vct(board, attacker, maxVctDepth, 0) ? firstMove : -1;
+	}
+
+	/**
+	 * Chercher une case où une couleur aligne 5 pièces en un coup
+	 *
+	 * @param board Plateau de jeu
+	 * @param code Code de la couleur
+	 * @return Index de la case, -1 si aucune
+	 */
+	public static int findFive(GomokuBoard board, byte code)
+	{
+		int[] candidates = new int[board.getCandidateCount()];
+		int count = board.getCandidates(candidates);
+		return findFive(board, code, candidates, count);
+	}
+
+	public long getNodesVisited()
+	{
+		return nodesVisited;
+	}
+
+	/**
+	 * Indiquer si la recherche doit s'arrêter : nombre de noeuds atteint, ou temps écoulé (vérifié tous les 256 appels)
+	 */
+	private boolean isOutOfBudget()
+	{
+		if (!isAborted && deadline != 0 && (++budgetChecks & 255) == 0 && System.nanoTime() >= deadline) isAborted = true;
+		return isAborted || nodesVisited >= nodeLimit;
+	}
+
+	private boolean vcf(GomokuBoard board, byte attacker, int depth, int ply)
+	{
+		nodesVisited++;
+		byte defender = opponent(attacker);
+		int[] candidates = candidateBuffers[ply];
+		int count = board.getCandidates(candidates);
+
+		int five = findFive(board, attacker, candidates, count);
+		if (five != -1)
+		{
+			if (ply == 0) firstMove = five;
+			return true;
+		}
+		if (depth == 0 || isOutOfBudget()) return false;
+		if (findFive(board, defender, candidates, count) != -1) return false; // Le défenseur gagne si on ne le bloque pas
+
+		for (int i = 0; i < count; i++)
+		{
+			int cell = candidates[i];
+			if (!isFourMove(board, cell, attacker)) continue;
+
+			board.play(cell, attacker);
+			int fives = collectFiveCells(board, cell, attacker);
+			boolean isWinning;
+			if (fives >= 2)
+			{ // Double quatre ou quatre ouvert : impossible à parer
+				isWinning = true;
+			}
+			else
+			{ // Parade unique du défenseur
+				board.play(fiveCells[0], defender);
+				isWinning = !board.isWinningMove(fiveCells[0]) && vcf(board, attacker, depth - 1, ply + 2);
+				board.undo();
+			}
+			board.undo();
+
+			if (isWinning)
+			{
+				if (ply == 0) firstMove = cell;
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean vct(GomokuBoard board, byte attacker, int depth, int ply)
+	{
+		// Un VCF est un VCT particulier, bien moins coûteux à chercher
+		if (vcf(board, attacker, maxVcfDepth, ply)) return true;
+
+		nodesVisited++;
+		byte defender = opponent(attacker);
+		int[] candidates = candidateBuffers[ply];
+		int count = board.getCandidates(candidates);
+
+		if (depth == 0 || isOutOfBudget()) return false;
+		if (findFive(board, defender, candidates, count) != -1) return false;
+
+		for (int i = 0; i < count; i++)
+		{
+			int cell = candidates[i];
+			if (isFourMove(board, cell, attacker) || !isThreeCandidate(board, cell, attacker)) continue; // Les quatre ont déjà été essayés par la recherche VCF
+
+			nodesVisited++;
+			board.play(cell, attacker);
+			boolean isWinning = false;
+			if (isOpenThree(board, cell, attacker))
+			{
+				isWinning = true;
+				int replyCount = collectReplies(board, cell, attacker, ply);
+				for (int r = 0; r < replyCount && isWinning; r++)
+				{
+					isWinning = isReplyRefuted(board, replyBuffers[ply][r], attacker, depth, ply);
+				}
+			}
+			board.undo();
+
+			if (isWinning)
+			{
+				if (ply == 0) firstMove = cell;
+				return true;
+			}
+			if (isOutOfBudget()) return false;
+		}
+		return false;
+	}
+
+	/**
+	 * Vérifier que l'attaquant gagne encore après une parade du défenseur à un trois ouvert
+	 */
+	private boolean isReplyRefuted(GomokuBoard board, int reply, byte attacker, int depth, int ply)
+	{
+		byte defender = opponent(attacker);
+		board.play(reply, defender);
+
+		boolean isWinning;
+		int defenderFives = collectFiveCells(board, reply, defender);
+		if (defenderFives >= 2)
+		{ // La parade est un quatre ouvert ou un double quatre du défenseur
+			isWinning = false;
+		}
+		else if (defenderFives == 1)
+		{ // La parade est un quatre : l'attaquant doit bloquer avant de continuer
+			int block = fiveCells[0];
+			board.play(block, attacker);
+			isWinning = board.isWinningMove(block) || vct(board, attacker, depth - 1, ply + 4);
+			board.undo();
+		}
+		else
+		{
+			isWinning = vct(board, attacker, depth - 1, ply + 2);
+		}
+
+		board.undo();
+		return isWinning;
+	}
+
+	/**
+	 * Collecter les parades du défenseur à un trois ouvert qui vient d'être joué : les cases proches sur les lignes
+	 * de la menace qui empêchent l'attaquant de faire un quatre ouvert, et tous les quatre du défenseur
+	 *
+	 * @return Nombre de parades
+	 */
+	private int collectReplies(GomokuBoard board, int threatCell, byte attacker, int ply)
+	{
+		byte defender = opponent(attacker);
+		int[] replies = replyBuffers[ply];
+		int count = 0;
+
+		for (int direction = 0; direction < 4; direction++)
+		{
+			int line = board.getLineOf(direction, threatCell);
+			if (line == -1 || !isOpenThreeInDirection(board, threatCell, attacker, direction)) continue;
+
+			int position = board.getPositionInLine(direction, threatCell);
+			int end = Math.min(board.getLineLength(line) - 1, position + 5);
+			for (int p = Math.max(0, position - 5); p <= end; p++)
+			{
+				int cell = board.getLineCell(line, p);
+				if (board.getCode(cell) != GomokuBoard.EMPTY || contains(replies, count, cell)) continue;
+
+				board.play(cell, defender);
+				boolean stillThreat = isOpenThreeInDirection(board, threatCell, attacker, direction);
+				board.undo();
+				if (!stillThreat) replies[count++] = cell;
+			}
+		}
+
+		// Contre-attaques : un quatre du défenseur force l'attaquant à répondre
+		int[] candidates = candidateBuffers[ply + 1]; // Les demi-coups impairs sont ceux du défenseur, leur tampon est libre
+		int candidateCount = board.getCandidates(candidates);
+		for (int i = 0; i < candidateCount; i++)
+		{
+			int cell = candidates[i];
+			if (!contains(replies, count, cell) && isFourMove(board, cell, defender)) replies[count++] = cell;
+		}
+		return count;
+	}
+
+	/**
+	 * Indiquer si la pièce posée sur une case forme un trois ouvert : un coup de plus suffit pour un quatre ouvert
+	 */
+	private boolean isOpenThree(GomokuBoard board, int cell, byte code)
+	{
+		for (int direction = 0; direction < 4; direction++)
+		{
+			if (isOpenThreeInDirection(board, cell, code, direction)) return true;
+		}
+		return false;
+	}
+
+	private boolean isOpenThreeInDirection(GomokuBoard board, int cell, byte code, int direction)
+	{
+		int line = board.getLineOf(direction, cell);
+		if (line == -1 || board.getCode(cell) != code) return false;
+
+		int position = board.getPositionInLine(direction, cell);
+		int end = Math.min(board.getLineLength(line) - 1, position + 4);
+		for (int p = Math.max(0, position - 4); p <= end; p++)
+		{
+			int extension = board.getLineCell(line, p);
+			if (board.getCode(extension) != GomokuBoard.EMPTY) continue;
+
+			board.play(extension, code);
+			boolean isOpenFour = countFiveCellsInDirection(board, extension, code, direction) >= 2;
+			board.undo();
+			if (isOpenFour) return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Indiquer si jouer une case vide crée au moins une menace de cinq
+	 */
+	private static boolean isFourMove(GomokuBoard board, int cell, byte code)
+	{
+		for (int direction = 0; direction < 4; direction++)
+		{
+			if (bestWindow(board, cell, code, direction) >= 3) return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Indiquer si jouer une case vide peut créer un trois : test rapide avant la vérification complète
+	 */
+	private static boolean isThreeCandidate(GomokuBoard board, int cell, byte code)
+	{
+		for (int direction = 0; direction < 4; direction++)
+		{
+			if (bestWindow(board, cell, code, direction) >= 2) return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Compter les pièces d'une couleur dans la meilleure fenêtre de 5 cases contenant une case vide
+	 * et aucune pièce adverse, à l'aide des masques de la ligne
+	 *
+	 * @return Nombre de pièces de la meilleure fenêtre, 0 si aucune fenêtre n'est libre
+	 */
+	private static int bestWindow(GomokuBoard board, int cell, byte code, int direction)
+	{
+		int line = board.getLineOf(direction, cell);
+		if (line == -1) return 0;
+
+		int own = board.getLineMask(line, code);
+		int other = board.getLineMask(line, opponent(code));
+		int position = board.getPositionInLine(direction, cell);
+		int last = Math.min(position, board.getLineLength(line) - 5);
+		int best = 0;
+		for (int start = Math.max(0, position - 4); start <= last; start++)
+		{
+			int window = 0x1F << start;
+			if ((other & window) == 0) best = Math.max(best, Integer.bitCount(own & window));
+		}
+		return best;
+	}
+
+	/**
+	 * Collecter dans fiveCells les cases qui complètent un alignement de 5 passant par une pièce qui vient d'être posée
+	 *
+	 * @return Nombre de cases distinctes
+	 */
+	private int collectFiveCells(GomokuBoard board, int cell, byte code)
+	{
+		int count = 0;
+		for (int direction = 0; direction < 4; direction++)
+		{
+			int line = board.getLineOf(direction, cell);
+			if (line == -1) continue;
+
+			int position = board.getPositionInLine(direction, cell);
+			int end = Math.min(board.getLineLength(line) - 1, position + 4);
+			for (int p = Math.max(0, position - 4); p <= end; p++)
+			{
+				int candidate = board.getLineCell(line, p);
+				if (board.getCode(candidate) == GomokuBoard.EMPTY && board.countAligned(candidate, direction, code) >= 4
+						&& !contains(fiveCells, count, candidate) && count < fiveCells.length)
+				{
+					fiveCells[count++] = candidate;
+				}
+			}
+		}
+		return count;
+	}
+
+	private static int countFiveCellsInDirection(GomokuBoard board, int cell, byte code, int direction)
+	{
+		int line = board.getLineOf(direction, cell);
+		if (line == -1) return 0;
+
+		int count = 0;
+		int position = board.getPositionInLine(direction, cell);
+		int end = Math.min(board.getLineLength(line) - 1, position + 4);
+		for (int p = Math.max(0, position - 4); p <= end; p++)
+		{
+			int candidate = board.getLineCell(line, p);
+			if (board.getCode(candidate) == GomokuBoard.EMPTY && board.countAligned(candidate, direction, code) >= 4) count++;
+		}
+		return count;
+	}
+
+	private static int findFive(GomokuBoard board, byte code, int[] candidates, int count)
+	{
+		for (int i = 0; i < count; i++)
+		{
+			for (int direction = 0; direction < 4; direction++)
+			{
+				if (board.countAligned(candidates[i], direction, code) >= 4) return candidates[i];
+			}
+		}
+		return -1;
+	}
+
+	private static boolean contains(int[] cells, int count, int cell)
+	{
+		for (int i = 0; i < count; i++)
+		{
+			if (cells[i] == cell) return true;
+		}
+		return false;
+	}
+
+	private static byte opponent(byte code)
+	{
+		return code == GomokuBoard.WHITE ? GomokuBoard.BLACK : GomokuBoard.WHITE;
+	}
+}
@@ -0,0 +1,174 @@
+package controllers.ai;
+
+import gamecore.GomokuBoard;
+import gamecore.enums.Player;
+import gamecore.enums.WinnerState;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Lecture séquentielle d'un fichier de positions d'entraînement écrit par {@link TrainingDataWriter}.
+ * <p>
+ * Le lecteur est un curseur : {@link #next()} avance d'une position, et les accesseurs décrivent la position courante
+ * sans créer d'objet, ce qui permet de parcourir des dizaines de millions de positions sans allocation :
+ * <pre>
+ * try (TrainingDataReader reader = new TrainingDataReader(path))
+ * {
+ *     while (reader.next()) { ... reader.getScore() ... }
+ * }
+ * </pre>
+ */
+public class TrainingDataReader implements Closeable
+{
+	private static final WinnerState[] RESULTS = WinnerState.values();
+
+	private final DataInputStream in;
+	private final int boardSize;
+	private final boolean isWide;
+
+	/**
+	 * Position courante : code de chaque case, joueur qui doit jouer, score et issue
+	 */
+	private final byte[] cells;
+	private Player sideToMove;
+	private int score;
+	private WinnerState result;
+
+	/**
+	 * Ouvrir un fichier de positions d'entraînement
+	 *
+	 * @param path Chemin du fichier
+	 * @throws IOException Si le fichier ne peut pas être lu ou n'est pas un fichier de positions d'entraînement
+	 */
+	public TrainingDataReader(Path path) throws IOException
+	{
+		in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(path), 1 << 16), 1 << 16));
+		try
+		{
+			if (in.readInt() != TrainingDataWriter.MAGIC)
+				throw new IOException("Le fichier " + path + " n'est pas un fichier de positions d'entraînement.");
+			int version = in.readUnsignedByte();
+			if (version != TrainingDataWriter.VERSION)
+				throw new IOException("Version de fichier de positions non supportée : " + version + ".");
+			boardSize = in.readUnsignedByte();
+			if (boardSize < GomokuBoard.MIN_SIZE || boardSize > GomokuBoard.MAX_SIZE)
+				throw new IOException("Taille de plateau invalide : " + boardSize + ".");
+		}
+		catch (IOException e)
+		{
+			in.close();
+			throw e;
+		}
+		isWide = TrainingDataWriter.isWide(boardSize);
+		cells = new byte[boardSize * boardSize];
+	}
+
+	/**
+	 * Passer à la position suivante
+	 *
+	 * @return true si une position a été lue, false à la fin du fichier
+	 * @throws IOException Si le fichier ne peut pas être lu ou est corrompu
+	 */
+	public boolean next() throws IOException
+	{
+		int side = in.read();
+		if (side == -1) return false; // Fin du fichier entre deux positions
+
+		try
+		{
+			int resultCode = in.readUnsignedByte();
+			if (side > 1 || resultCode >= RESULTS.length) throw new IOException("Position d'entraînement invalide.");
+
+			sideToMove = side == 0 ? Player.White : Player.Black;
+			result = RESULTS[resultCode];
+			score = in.readInt();
+			int whiteCount = in.readUnsignedShort();
+			int blackCount = in.readUnsignedShort();
+			if (whiteCount + blackCount > cells.length) throw new IOException("Position d'entraînement invalide.");
+
+			Arrays.fill(cells, GomokuBoard.EMPTY);
+			readCells(whiteCount, GomokuBoard.WHITE);
+			readCells(blackCount, GomokuBoard.BLACK);
+			return true;
+		}
+		catch (EOFException e)
+		{
+			throw new IOException("Fichier de positions tronqué.", e);
+		}
+	}
+
+	private void readCells(int count, byte code) throws IOException
+	{
+		for (int i = 0; i < count; i++)
+		{
+			int cell = isWide ? in.readUnsignedShort() : in.readUnsignedByte();
+			if (cell >= cells.length) throw new IOException("Case invalide : " + cell + ".");
+			cells[cell] = code;
+		}
+	}
+
+	public int getBoardSize()
+	{
+		return boardSize;
+	}
+
+	/**
+	 * Copier les codes des cases de la position courante
+	 *
+	 * @param destination Tableau de destination
+	 * @param offset Index de la première case dans le tableau de destination
+	 */
+	public void getCells(byte[] destination, int offset)
+	{
+		System.arraycopy(cells, 0, destination, offset, cells.length);
+	}
+
+	/**
+	 * Construire le plateau de la position courante
+	 *
+	 * @return Nouveau plateau
+	 */
+	public GomokuBoard toBoard()
+	{
+		GomokuBoard board = new GomokuBoard(boardSize);
+		for (int cell = 0; cell < cells.length; cell++)
+		{
+			if (cells[cell] != GomokuBoard.EMPTY) board.play(cell, cells[cell]);
+		}
+		return board;
+	}
+
+	public Player getSideToMove()
+	{
+		return sideToMove;
+	}
+
+	/**
+	 * Obtenir le score de la recherche pour la position courante
+	 *
+	 * @return Score, positif si les blancs sont mieux placés
+	 */
+	public int getScore()
+	{
+		return score;
+	}
+
+	public WinnerState getResult()
+	{
+		return result;
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		in.close();
+	}
+}
@@ -0,0 +1,121 @@
+package controllers.ai;
+
+import gamecore.GomokuBoard;
+import gamecore.enums.Player;
+import gamecore.enums.WinnerState;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Ecriture de positions d'entraînement de l'évaluation dans un fichier compressé (gzip), à la suite les unes des autres.
+ * <p>
+ * Format, une fois décompressé (gros-boutiste) : entier magique, octet de version, taille du plateau (octet),
+ * puis pour chaque position : joueur qui doit jouer (octet : 0 blancs, 1 noirs), issue de la partie
+ * (octet : ordinal de WinnerState), score de la recherche du point de vue des blancs (int),
+ * nombre de pièces blanches et de pièces noires (2 octets chacun), puis les cases des pièces blanches et des pièces noires,
+ * sur 1 octet si le plateau a au plus 256 cases, sur 2 octets sinon.
+ * Les positions s'écrivent et se lisent ({@link TrainingDataReader}) au fil de l'eau : un fichier de dizaines de millions
+ * de positions ne passe jamais entièrement en mémoire.
+ */
+public class TrainingDataWriter implements Closeable
+{
+	static final int MAGIC = 0x474F4B54; // "GOKT"
+	static final int VERSION = 1;
+
+	private final DataOutputStream out;
+	private final int boardSize;
+	private final boolean isWide;
+	private final int[] whiteCells;
+	private final int[] blackCells;
+	private long positionCount;
+
+	/**
+	 * Créer un fichier de positions d'entraînement (un fichier existant est remplacé)
+	 *
+	 * @param path Chemin du fichier
+	 * @param boardSize Taille du plateau de toutes les positions
+	 * @throws IOException Si le fichier ne peut pas être créé
+	 */
+	public TrainingDataWriter(Path path, int boardSize) throws IOException
+	{
+		this.boardSize = boardSize;
+		this.isWide = isWide(boardSize);
+		this.whiteCells = new int[boardSize * boardSize];
+		this.blackCells = new int[boardSize * boardSize];
+		out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(path), 1 << 16), 1 << 16));
+		out.writeInt(MAGIC);
+		out.writeByte(VERSION);
+		out.writeByte(boardSize);
+	}
+
+	/**
+	 * Ecrire une position. Les écritures de plusieurs threads ne se mélangent pas.
+	 *
+	 * @param board Plateau, de la taille du fichier
+	 * @param sideToMove Joueur qui doit jouer
+	 * @param score Score de la recherche, positif si les blancs sont mieux placés
+	 * @param result Issue de la partie dont la position est tirée
+	 * @throws IOException Si l'écriture échoue
+	 * @throws IllegalArgumentException Si le plateau n'a pas la taille du fichier
+	 */
+	public synchronized void write(GomokuBoard board, Player sideToMove, int score, WinnerState result) throws IOException
+	{
+		if (board.getSize() != boardSize)
+			throw new IllegalArgumentException("Le plateau doit être de taille " + boardSize + " : " + board.getSize() + ".");
+
+		int whiteCount = 0;
+		int blackCount = 0;
+		for (int cell = 0; cell < board.getCellCount(); cell++)
+		{
+			byte code = board.getCode(cell);
+			if (code == GomokuBoard.WHITE) whiteCells[whiteCount++] = cell;
+			else if (code == GomokuBoard.BLACK) blackCells[blackCount++] = cell;
+		}
+
+		out.writeByte(sideToMove == Player.White ? 0 : 1);
+		out.writeByte(result.ordinal());
+		out.writeInt(score);
+		out.writeShort(whiteCount);
+		out.writeShort(blackCount);
+		writeCells(whiteCells, whiteCount);
+		writeCells(blackCells, blackCount);
+		positionCount++;
+	}
+
+	private void writeCells(int[] cells, int count) throws IOException
+	{
+		for (int i = 0; i < count; i++)
+		{
+			if (isWide) out.writeShort(cells[i]);
+			else out.writeByte(cells[i]);
+		}
+	}
+
+	/**
+	 * Obtenir le nombre de positions écrites depuis l'ouverture
+	 */
+	public synchronized long getPositionCount()
+	{
+		return positionCount;
+	}
+
+	@Override
+	public synchronized void close() throws IOException
+	{
+		out.close();
+	}
+
+	/**
+	 * Indiquer si les cases d'un plateau de cette taille sont codées sur 2 octets
+	 */
+	static boolean isWide(int boardSize)
+	{
+		return boardSize * boardSize > 256;
+	}
+}
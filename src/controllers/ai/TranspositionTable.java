@@ -0,0 +1,170 @@
+package controllers.ai;
+
+import gamecore.GomokuBoard;
+import gamecore.enums.Player;
+
+import java.util.Arrays;
+
+/**
+ * Table de transposition de taille fixe, indexée par clé de Zobrist.
+ * <p>
+ * Chaque entrée tient dans deux {@code long} : la clé (combinée par XOR avec les données, pour
+ * détecter une entrée incohérente) et les données compactées (score, profondeur, type de borne, meilleur coup).
+ */
+public class TranspositionTable
+{
+	/**
+	 * Le score stocké est exact
+	 */
+	public static final int EXACT = 1;
+
+	/**
+	 * Le score stocké est une borne inférieure (coupe sur un noeud max)
+	 */
+	public static final int LOWER_BOUND = 2;
+
+	/**
+	 * Le score stocké est une borne supérieure (coupe sur un noeud min)
+	 */
+	public static final int UPPER_BOUND = 3;
+
+	/**
+	 * Valeur XORée dans la clé quand c'est aux noirs de jouer
+	 */
+	private static final long BLACK_TO_MOVE = 0x9E3779B97F4A7C15L;
+
+	private final long[] keys;
+	private final long[] data;
+	private final int mask;
+
+	/**
+	 * Créer une table de transposition
+	 *
+	 * @param sizeBits Logarithme en base 2 du nombre d'entrées
+	 */
+	public TranspositionTable(int sizeBits)
+	{
+		keys = new long[1 << sizeBits];
+		data = new long[1 << sizeBits];
+		mask = (1 << sizeBits) - 1;
+	}
+
+	/**
+	 * Calculer la plus grande taille de table qui tient dans une quantité de mémoire
+	 *
+	 * @param maxBytes Mémoire disponible pour la table en octets
+	 * @param minBits Taille minimale, retenue même si elle dépasse maxBytes
+	 * @param maxBits Taille maximale
+	 * @return Logarithme en base 2 du nombre d'entrées
+	 */
+	public static int sizeBitsFor(long maxBytes, int minBits, int maxBits)
+	{
+		int bits = minBits;
+		while (bits < maxBits && (2L * Long.BYTES << (bits + 1)) <= maxBytes)
+		{
+			bits++;
+		}
+		return bits;
+	}
+
+	/**
+	 * Calculer la clé d'une position pour un joueur devant jouer
+	 *
+	 * @param board Plateau de jeu
+	 * @param player Joueur qui doit jouer
+	 * @return Clé de la position
+	 */
+	public static long keyOf(GomokuBoard board, Player player)
+	{
+		return keyOf(board.getZobristKey(), player);
+	}
+
+	/**
+	 * Calculer la clé d'une position à partir de la clé de Zobrist du plateau
+	 *
+	 * @param zobristKey Clé de Zobrist du plateau
+	 * @param player Joueur qui doit jouer
+	 * @return Clé de la position
+	 */
+	public static long keyOf(long zobristKey, Player player)
+	{
+		return zobristKey ^ (player == Player.Black ? BLACK_TO_MOVE : 0);
+	}
+
+	/**
+	 * Chercher une position dans la table
+	 *
+	 * @param key Clé de la position
+	 * @return Données compactées de l'entrée, 0 si la position n'est pas dans la table
+	 */
+	public long probe(long key)
+	{
+		int index = (int) key & mask;
+		long entry = data[index];
+		if (entry != 0 && (keys[index] ^ entry) == key) return entry;
+		return 0;
+	}
+
+	/**
+	 * Enregistrer le résultat de la recherche d'une position.
+	 * Une entrée existante pour la même position n'est remplacée que par une recherche au moins aussi profonde.
+	 *
+	 * @param key Clé de la position
+	 * @param depth Profondeur de la recherche
+	 * @param bound Type de borne (EXACT, LOWER_BOUND ou UPPER_BOUND)
+	 * @param score Score de la position
+	 * @param move Index de la case du meilleur coup, -1 si aucun (le coup déjà enregistré pour la position est alors conservé)
+	 */
+	public void store(long key, int depth, int bound, int score, int move)
+	{
+		int index = (int) key & mask;
+		long previous = data[index];
+		boolean isSamePosition = previous != 0 && (keys[index] ^ previous) == key;
+		if (isSamePosition && depthOf(previous) > depth) return;
+		if (move == -1 && isSamePosition) move = moveOf(previous); // Garder le meilleur coup connu de la position
+
+		long entry = pack(depth, bound, score, move);
+		data[index] = entry;
+		keys[index] = key ^ entry;
+	}
+
+	/**
+	 * Vider la table
+	 */
+	public void clear()
+	{
+		Arrays.fill(keys, 0);
+		Arrays.fill(data, 0);
+	}
+
+	/**
+	 * Compacter les données d'une entrée dans un long, jamais nul (le coup est décalé de 1)
+	 */
+	static long pack(int depth, int bound, int score, int move)
+	{
+		return (score & 0xFFFFFFFFL)
+				| ((long) (depth & 0xFF) << 32)
+				| ((long) bound << 40)
+				| ((long) (move + 1) << 42);
+	}
+
+	public static int scoreOf(long entry)
+	{
+		return (int) entry;
+	}
+
+	public static int depthOf(long entry)
+	{
+		return (int) (entry >>> 32) & 0xFF;
+	}
+
+	public static int boundOf(long entry)
+	{
+		return (int) (entry >>> 40) & 0x3;
+	}
+
+	public static int moveOf(long entry)
+	{
+		return (int) (entry >>> 42) - 1;
+	}
+}
@@ -0,0 +1,139 @@
+package controllers.ai;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Calcul vectoriel de {@link BatchEvaluator} : chaque voie d'un vecteur d'entiers évalue une position.
+ * <p>
+ * Cette classe n'est chargée que si le module jdk.incubator.vector est présent au lancement.
+ */
+final class VectorBatchKernel
+{
+	private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+
+	/**
+	 * A partir de 8 voies, les codes des cases sont lus par vecteurs d'octets, et le score d'une fenêtre est lu
+	 * dans deux tables de 6 scores tenant dans un vecteur (selon le nombre de pièces blanches, puis de pièces noires).
+	 * Avec moins de voies, les codes sont convertis un par un et le score est choisi parmi les fenêtres d'une seule couleur.
+	 */
+	private static final boolean IS_WIDE = INTS.length() >= 8;
+	private static final VectorSpecies<Byte> BYTES = IS_WIDE ? VectorSpecies.of(byte.class, VectorShape.forBitSize(INTS.length() * Byte.SIZE)) : null;
+
+	private VectorBatchKernel()
+	{
+	}
+
+	/**
+	 * Obtenir le nombre de positions évaluées ensemble
+	 */
+	static int lanes()
+	{
+		return INTS.length();
+	}
+
+	/**
+	 * Evaluer les positions du lot par groupes de lanes() positions
+	 *
+	 * @param buffer Tampon d'au moins cellBonus.length * lanes() cases
+	 * @return Nombre de positions évaluées, un multiple de lanes() ; les suivantes restent à évaluer
+	 */
+	static int evaluate(byte[] cells, int capacity, int count, int[] cellBonus, int[] lineOffsets, int[] lineCells, int[] windowScores, int[] buffer, int[] scores)
+	{
+		int lanes = INTS.length();
+		int cellCount = cellBonus.length;
+
+		// Tables des scores des fenêtres d'une seule couleur, selon le nombre de pièces
+		int[] whiteScores = new int[lanes];
+		int[] blackScores = new int[lanes];
+		int pureCount = 0;
+		int[] pureSums = new int[2 * PatternTable.WINDOW + 1];
+		for (int pieces = 0; pieces <= PatternTable.WINDOW; pieces++)
+		{
+			if (pieces < lanes) whiteScores[pieces] = windowScores[pieces * BatchEvaluator.WHITE_WEIGHT];
+			if (pieces < lanes && pieces > 0) blackScores[pieces] = windowScores[pieces * BatchEvaluator.BLACK_WEIGHT];
+			if (windowScores[pieces * BatchEvaluator.WHITE_WEIGHT] != 0) pureSums[pureCount++] = pieces * BatchEvaluator.WHITE_WEIGHT;
+			if (pieces > 0 && windowScores[pieces * BatchEvaluator.BLACK_WEIGHT] != 0) pureSums[pureCount++] = pieces * BatchEvaluator.BLACK_WEIGHT;
+		}
+		IntVector whiteTable = IntVector.fromArray(INTS, whiteScores, 0);
+		IntVector blackTable = IntVector.fromArray(INTS, blackScores, 0);
+
+		int end = INTS.loopBound(count);
+		for (int first = 0; first < end; first += lanes)
+		{
+			// Somme de chaque case (1 pour une pièce blanche, 8 pour une noire) et bonus de centralité
+			IntVector score = IntVector.zero(INTS);
+			for (int cell = 0; cell < cellCount; cell++)
+			{
+				IntVector codes = IS_WIDE
+						? (IntVector) ByteVector.fromArray(BYTES, cells, cell * capacity + first).convertShape(VectorOperators.B2I, INTS, 0)
+						: IntVector.fromArray(INTS, widen(cells, cell * capacity + first, buffer, cell * lanes), cell * lanes);
+				IntVector white = codes.and(1);
+				IntVector black = codes.lanewise(VectorOperators.LSHR, 1);
+				white.add(black.lanewise(VectorOperators.LSHL, 3)).intoArray(buffer, cell * lanes);
+				if (cellBonus[cell] != 0) score = score.add(white.sub(black).mul(cellBonus[cell]));
+			}
+
+			// Fenêtres glissantes le long de chaque ligne
+			for (int line = 0; line + 1 < lineOffsets.length; line++)
+			{
+				int start = lineOffsets[line];
+				IntVector sum = IntVector.zero(INTS);
+				for (int i = start; i < lineOffsets[line + 1]; i++)
+				{
+					sum = sum.add(IntVector.fromArray(INTS, buffer, lineCells[i] * lanes));
+					if (i - start < PatternTable.WINDOW - 1) continue;
+
+					score = score.add(IS_WIDE ? lookup(sum, whiteTable, blackTable) : lookup(sum, windowScores, pureSums, pureCount));
+					sum = sum.sub(IntVector.fromArray(INTS, buffer, lineCells[i - PatternTable.WINDOW + 1] * lanes));
+				}
+			}
+			score.intoArray(scores, first);
+		}
+		return end;
+	}
+
+	/**
+	 * Score des fenêtres par lecture dans les tables : score des blanches s'il n'y a pas de noire,
+	 * score des noires s'il n'y a pas de blanche, 0 si la fenêtre contient les deux couleurs
+	 */
+	private static IntVector lookup(IntVector sum, IntVector whiteTable, IntVector blackTable)
+	{
+		IntVector white = sum.and(BatchEvaluator.BLACK_WEIGHT - 1);
+		IntVector black = sum.lanewise(VectorOperators.LSHR, 3);
+		VectorMask<Integer> noBlack = black.eq(0);
+		VectorMask<Integer> mixed = white.compare(VectorOperators.NE, 0).andNot(noBlack);
+		return black.selectFrom(blackTable).blend(white.selectFrom(whiteTable), noBlack).blend(0, mixed);
+	}
+
+	/**
+	 * Score des fenêtres par comparaison avec les sommes des fenêtres d'une seule couleur de score non nul
+	 */
+	private static IntVector lookup(IntVector sum, int[] windowScores, int[] pureSums, int pureCount)
+	{
+		IntVector result = IntVector.zero(INTS);
+		for (int i = 0; i < pureCount; i++)
+		{
+			result = result.blend(windowScores[pureSums[i]], sum.eq(pureSums[i]));
+		}
+		return result;
+	}
+
+	/**
+	 * Copier des codes de cases dans un tableau d'entiers, quand les voies sont trop peu nombreuses pour un vecteur d'octets
+	 *
+	 * @return Le tableau de destination
+	 */
+	private static int[] widen(byte[] cells, int from, int[] destination, int offset)
+	{
+		for (int lane = 0; lane < INTS.length(); lane++)
+		{
+			destination[offset + lane] = cells[from + lane];
+		}
+		return destination;
+	}
+}
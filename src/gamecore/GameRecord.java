@@ -0,0 +1,105 @@
+package gamecore;
+
+import gamecore.enums.WinnerState;
+
+/**
+ * Enregistrement d'une partie : joueurs, réglages, issue et coups joués (les blancs jouent le premier coup)
+ */
+public class GameRecord
+{
+	private final long timestamp;
+	private final int boardSize;
+	private final String whitePlayer;
+	private final String blackPlayer;
+	private final String settings;
+	private final WinnerState result;
+	private final int[] moves;
+
+	/**
+	 * @param timestamp Date de la partie (millisecondes depuis le 1er janvier 1970)
+	 * @param boardSize Taille du plateau
+	 * @param whitePlayer Description du joueur blanc
+	 * @param blackPlayer Description du joueur noir
+	 * @param settings Réglages de la partie (texte libre)
+	 * @param result Issue de la partie
+	 * @param moves Index des cases jouées, dans l'ordre
+	 */
+	public GameRecord(long timestamp, int boardSize, String whitePlayer, String blackPlayer, String settings, WinnerState result, int[] moves)
+	{
+		this.timestamp = timestamp;
+		this.boardSize = boardSize;
+		this.whitePlayer = whitePlayer;
+		this.blackPlayer = blackPlayer;
+		this.settings = settings;
+		this.result = result;
+		this.moves = moves;
+	}
+
+	public long getTimestamp()
+	{
+		return timestamp;
+	}
+
+	public int getBoardSize()
+	{
+		return boardSize;
+	}
+
+	public String getWhitePlayer()
+	{
+		return whitePlayer;
+	}
+
+	public String getBlackPlayer()
+	{
+		return blackPlayer;
+	}
+
+	public String getSettings()
+	{
+		return settings;
+	}
+
+	public WinnerState getResult()
+	{
+		return result;
+	}
+
+	public int getMoveCount()
+	{
+		return moves.length;
+	}
+
+	/**
+	 * Obtenir un coup de la partie
+	 *
+	 * @param index Numéro du coup, à partir de 0
+	 * @return Index de la case jouée
+	 */
+	public int getMove(int index)
+	{
+		return moves[index];
+	}
+
+	/**
+	 * Rejouer les premiers coups de la partie sur un plateau vide
+	 *
+	 * @param moveCount Nombre de coups à rejouer
+	 * @return Plateau obtenu
+	 */
+	public GomokuBoard replay(int moveCount)
+	{
+		GomokuBoard board = new GomokuBoard(boardSize);
+		for (int i = 0; i < moveCount; i++)
+		{
+			board.play(moves[i], i % 2 == 0 ? GomokuBoard.WHITE : GomokuBoard.BLACK);
+		}
+		return board;
+	}
+
+	@Override
+	public String toString()
+	{
+		return whitePlayer + " contre " + blackPlayer + " : " + result + " en " + moves.length + " coups";
+	}
+}
@@ -0,0 +1,128 @@
+package gamecore;
+
+import gamecore.enums.WinnerState;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Lecture séquentielle d'un fichier de parties écrit par {@link GameRecordWriter}.
+ * <p>
+ * Les parties sont lues une à une au fil de l'itération, un fichier de plusieurs millions de parties
+ * se parcourt donc sans être chargé en mémoire :
+ * <pre>
+ * try (GameRecordReader reader = new GameRecordReader(path))
+ * {
+ *     for (GameRecord record : reader) { ... }
+ * }
+ * </pre>
+ * Le lecteur ne peut être parcouru qu'une fois.
+ */
+public class GameRecordReader implements Iterable<GameRecord>, Iterator<GameRecord>, Closeable
+{
+	private static final WinnerState[] RESULTS = WinnerState.values();
+
+	private final DataInputStream in;
+	private GameRecord next;
+	private boolean isFinished;
+
+	/**
+	 * Ouvrir un fichier de parties
+	 *
+	 * @param path Chemin du fichier
+	 * @throws IOException Si le fichier ne peut pas être ouvert
+	 */
+	public GameRecordReader(Path path) throws IOException
+	{
+		in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16));
+	}
+
+	@Override
+	public Iterator<GameRecord> iterator()
+	{
+		return this;
+	}
+
+	/**
+	 * @throws UncheckedIOException Si le fichier ne peut pas être lu ou est corrompu
+	 */
+	@Override
+	public boolean hasNext()
+	{
+		if (next == null && !isFinished)
+		{
+			try
+			{
+				next = readRecord();
+			}
+			catch (IOException e)
+			{
+				throw new UncheckedIOException(e);
+			}
+			isFinished = next == null;
+		}
+		return next != null;
+	}
+
+	@Override
+	public GameRecord next()
+	{
+		if (!hasNext()) throw new NoSuchElementException("Plus aucune partie à lire.");
+
+		GameRecord record = next;
+		next = null;
+		return record;
+	}
+
+	/**
+	 * Lire la partie suivante
+	 *
+	 * @return Partie lue, null à la fin du fichier
+	 */
+	private GameRecord readRecord() throws IOException
+	{
+		int magic = in.read();
+		if (magic == -1) return null; // Fin du fichier entre deux parties
+		if (magic != GameRecordWriter.MAGIC) throw new IOException("Enregistrement de partie invalide (octet " + magic + ").");
+
+		try
+		{
+			int version = in.readUnsignedByte();
+			if (version != GameRecordWriter.VERSION) throw new IOException("Version d'enregistrement non supportée : " + version + ".");
+
+			long timestamp = in.readLong();
+			int boardSize = in.readUnsignedByte();
+			int result = in.readUnsignedByte();
+			if (result >= RESULTS.length) throw new IOException("Issue de partie invalide : " + result + ".");
+			String whitePlayer = in.readUTF();
+			String blackPlayer = in.readUTF();
+			String settings = in.readUTF();
+
+			int[] moves = new int[in.readUnsignedShort()];
+			boolean isWide = GameRecordWriter.isWide(boardSize);
+			for (int i = 0; i < moves.length; i++)
+			{
+				moves[i] = isWide ? in.readUnsignedShort() : in.readUnsignedByte();
+			}
+			return new GameRecord(timestamp, boardSize, whitePlayer, blackPlayer, settings, RESULTS[result], moves);
+		}
+		catch (EOFException e)
+		{
+			throw new IOException("Fichier de parties tronqué.", e);
+		}
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		in.close();
+	}
+}
@@ -0,0 +1,114 @@
+package gamecore;
+
+import gamecore.enums.WinnerState;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Ecriture de parties à la suite les unes des autres dans un fichier binaire, ouvert en ajout.
+ * <p>
+ * Format d'une partie (gros-boutiste) :
+ * <ul>
+ *     <li>octet magique {@code 'G'}, octet de version</li>
+ *     <li>date (long), taille du plateau (octet), issue (octet : ordinal de WinnerState)</li>
+ *     <li>joueur blanc, joueur noir, réglages (chaînes UTF modifiées, précédées de leur longueur sur 2 octets)</li>
+ *     <li>nombre de coups (2 octets), puis chaque coup : index de la case sur 1 octet
+ *     si le plateau a au plus 256 cases (15x15), sur 2 octets sinon</li>
+ * </ul>
+ * Une partie de 15x15 coûte donc un octet par coup plus l'en-tête, et le fichier se lit séquentiellement
+ * avec {@link GameRecordReader} sans être chargé en mémoire.
+ */
+public class GameRecordWriter implements Closeable
+{
+	static final int MAGIC = 'G';
+	static final int VERSION = 1;
+
+	private final DataOutputStream out;
+
+	/**
+	 * Ouvrir un fichier de parties en ajout (il est créé s'il n'existe pas)
+	 *
+	 * @param path Chemin du fichier
+	 * @throws IOException Si le fichier ne peut pas être ouvert
+	 */
+	public GameRecordWriter(Path path) throws IOException
+	{
+		out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path,
+				StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND), 1 << 16));
+	}
+
+	/**
+	 * Ecrire une partie. Les écritures de plusieurs threads ne se mélangent pas.
+	 *
+	 * @param record Partie à écrire
+	 * @throws IOException Si l'écriture échoue
+	 */
+	public synchronized void write(GameRecord record) throws IOException
+	{
+		out.writeByte(MAGIC);
+		out.writeByte(VERSION);
+		out.writeLong(record.getTimestamp());
+		out.writeByte(record.getBoardSize());
+		out.writeByte(record.getResult().ordinal());
+		out.writeUTF(record.getWhitePlayer());
+		out.writeUTF(record.getBlackPlayer());
+		out.writeUTF(record.getSettings());
+
+		out.writeShort(record.getMoveCount());
+		boolean isWide = isWide(record.getBoardSize());
+		for (int i = 0; i < record.getMoveCount(); i++)
+		{
+			if (isWide) out.writeShort(record.getMove(i));
+			else out.writeByte(record.getMove(i));
+		}
+	}
+
+	/**
+	 * Ecrire une partie à partir de ses éléments
+	 *
+	 * @param whitePlayer Description du joueur blanc
+	 * @param blackPlayer Description du joueur noir
+	 * @param settings Réglages de la partie
+	 * @param result Issue de la partie
+	 * @param boardSize Taille du plateau
+	 * @param moves Index des cases jouées, dans l'ordre
+	 * @param moveCount Nombre de coups
+	 * @throws IOException Si l'écriture échoue
+	 */
+	public void write(String whitePlayer, String blackPlayer, String settings, WinnerState result, int boardSize, int[] moves, int moveCount) throws IOException
+	{
+		int[] playedMoves = new int[moveCount];
+		System.arraycopy(moves, 0, playedMoves, 0, moveCount);
+		write(new GameRecord(System.currentTimeMillis(), boardSize, whitePlayer, blackPlayer, settings, result, playedMoves));
+	}
+
+	/**
+	 * Ecrire sur le disque les parties en attente
+	 *
+	 * @throws IOException Si l'écriture échoue
+	 */
+	public synchronized void flush() throws IOException
+	{
+		out.flush();
+	}
+
+	@Override
+	public synchronized void close() throws IOException
+	{
+		out.close();
+	}
+
+	/**
+	 * Indiquer si les coups d'un plateau de cette taille sont codés sur 2 octets
+	 */
+	static boolean isWide(int boardSize)
+	{
+		return boardSize * boardSize > 256;
+	}
+}
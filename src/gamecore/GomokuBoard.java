@@ -1,177 +1,990 @@
-package gamecore;
-
-import gamecore.enums.TileState;
-import gamecore.enums.WinnerState;
-
-import java.util.ArrayList;
-
-/**
- * Plateau de Gomoku
- */
-public class GomokuBoard extends Array2D<TileState>
-{
-
-	/**
-	 * Taille du plateau
-	 */
-	public static final int size = 15;
-
-	/**
-	 * Créer un plateau de Gomoku vide
-	 */
-	public GomokuBoard()
-	{
-		super(size, size, TileState.Empty);
-	}
-
-	/**
-	 * Remplir le plateau de manière aléatoire
-	 *
-	 * @param whiteRatio Ratio de cases blanches
-	 * @param blackRatio Ratio de cases noires
-	 * @throws IllegalArgumentException Si la somme des ratios blancs et noirs dépasse 1
-	 */
-	public void randomize(double whiteRatio, double blackRatio)
-	{
-		if (whiteRatio + blackRatio > 1)
-			throw new IllegalArgumentException("La somme des ratios blancs et noirs ne peut pas dépasser 1.");
-
-		for (int y = 0; y < size; y++)
-		{
-			for (int x = 0; x < size; x++)
-			{
-				double random = Math.random();
-				if (random < whiteRatio) set(x, y, TileState.White);
-				else if (random < whiteRatio + blackRatio) set(x, y, TileState.Black);
-				else set(x, y, TileState.Empty);
-			}
-		}
-	}
-
-	/**
-	 * Obtenir l'état de fin de partie du plateau
-	 *
-	 * @return Etat de fin de partie
-	 */
-	public WinnerState getWinnerState()
-	{
-
-		// Liste des directions à tester pour trouver un alignement de 5 pièces
-		final int[][] DIRECTIONS_TO_CHECK = {
-				{-1, -1}, // Diagonales bas-gauche haut-droite
-				{-1, 0}, // Verticales
-				{-1, 1}, // Diagonales haut-gauche bas-droite
-				{0, 1} // Horizontales
-		};
-
-		TileState currentCellState; // Alloue de la mémoire pour stocker l'état de la cellule testée
-		boolean isBoardFull = true; // Indique si le plateau est plein
-
-		for (int row = 0; row < size; row++)
-		{
-			for (int column = 0; column < size; column++)
-			{
-				currentCellState = get(column, row);
-				if (currentCellState != TileState.Empty)
-				{ // Si la case n'est pas vide, chercher un alignement de 5 pièces dans toutes les directions
-					for (int[] direction : DIRECTIONS_TO_CHECK)
-					{
-						boolean hasCurrentPlayerWon = true;
-						for (int step = 1; step <= 4; step++)
-						{ // Pour chaque pas allant de 1 à 4
-							// Calculer les coordonnées de la cellule à tester
-							int currentRow = row + direction[0] * step;
-							int currentColumn = column + direction[1] * step;
-							if (!areCoordsValid(currentColumn, currentRow) || // Si le point est en dehors du plateau
-									get(currentColumn, currentRow) != currentCellState)
-							{  // Ou si le point n'est pas occupé par le joueur testé
-								hasCurrentPlayerWon = false;
-								break; // Arrêter de tester cette direction
-							}
-						}
-						if (hasCurrentPlayerWon)
-						{ // Si un joueur a gagné, retourner sa couleur
-							return (currentCellState == TileState.Black) ? WinnerState.Black : WinnerState.White;
-						}
-					}
-				}
-				else
-				{ // Si la cellule est vide, le plateau n'est pas plein
-					isBoardFull = false;
-				}
-			}
-		}
-
-		if (isBoardFull) return WinnerState.Tie; // Si aucun joueur n'a gagné et que le plateau est plein, égalité
-		return WinnerState.None; // Si aucun joueur n'a gagné mais que le plateau n'est pas plein, la partie n'est pas finie
-	}
-
-	@Override
-	public void print()
-	{
-		System.out.print("   ");
-		for (int i = 0; i < size; i++)
-		{
-			System.out.print(String.format("%02d ", i)); // Afficher le numéro des colonnes
-		}
-		System.out.println();
-
-		Coords currentCellCoords = new Coords();
-
-		for (currentCellCoords.row = 0; currentCellCoords.row < size; currentCellCoords.row++)
-		{
-			System.out.print(String.format("%02d ", currentCellCoords.row)); // Afficher le numéro de la ligne
-
-			for (currentCellCoords.column = 0; currentCellCoords.column < size; currentCellCoords.column++)
-			{
-				switch (get(currentCellCoords))
-				{ // Afficher le caractère correspondant à l'état de chaque cellule
-					case White:
-						System.out.print("W  ");  // ■
-						break;
-					case Black:
-						System.out.print("B  ");  // □
-						break;
-					default:
-						System.out.print("-  ");  // •
-				}
-			}
-
-			System.out.println();
-		}
-	}
-
-	@Override
-	public GomokuBoard clone()
-	{
-		GomokuBoard clone = new GomokuBoard();
-
-		for (int x = 0; x < getWidth(); x++)
-		{
-			for (int y = 0; y < getHeight(); y++)
-			{
-				clone.set(x, y, get(x, y));
-			}
-		}
-
-		return clone;
-	}
-
-	public ArrayList<Array2D> findPositionInBoard()
-	{
-		ArrayList<Array2D> list = new ArrayList<Array2D>();
-
-		for (int row = 0; row < size; row++)
-		{
-			for (int column = 0; column < size; column++)
-			{
-				if (!get(column, row).equals(TileState.Empty))
-				{
-					list.add(new Array2D(column, row));
-				}
-			}
-		}
-		return list;
-	}
-}
-
+package gamecore;
+
+import gamecore.enums.TileState;
+import gamecore.enums.WinnerState;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Plateau de Gomoku
+ * <p>
+ * Les cases sont stockées dans un tableau de bytes indexé par {@code ligne * size + colonne},
+ * ce qui évite les listes imbriquées d'{@link Array2D} : un accès est une simple lecture de tableau
+ * et une copie du plateau un seul {@link System#arraycopy}.
+ */
+public class GomokuBoard extends Array2D<TileState>
+{
+
+	/**
+	 * Taille du plateau par défaut
+	 */
+	public static final int DEFAULT_SIZE = 15;
+
+	/**
+	 * Tailles de plateau acceptées : une ligne doit pouvoir contenir un alignement de 5 pièces,
+	 * et le contenu d'une ligne doit tenir dans un masque de bits de type int
+	 */
+	public static final int MIN_SIZE = 5;
+	public static final int MAX_SIZE = 32;
+
+	/**
+	 * Code d'une case vide
+	 */
+	public static final byte EMPTY = 0;
+
+	/**
+	 * Code d'une case occupée par une pièce blanche
+	 */
+	public static final byte WHITE = 1;
+
+	/**
+	 * Code d'une case occupée par une pièce noire
+	 */
+	public static final byte BLACK = 2;
+
+	/**
+	 * Correspondance code de case -> état de case
+	 */
+	private static final TileState[] TILE_STATES = {TileState.Empty, TileState.White, TileState.Black};
+
+	/**
+	 * Nombre de symétries du plateau (rotations et miroirs du carré)
+	 */
+	public static final int SYMMETRY_COUNT = 8;
+
+	/**
+	 * Distance maximale (en nombre de cases, diagonales comprises) entre une case candidate et une pièce
+	 */
+	public static final int CANDIDATE_RADIUS = 2;
+
+	/**
+	 * Directions des lignes passant par une case (dx, dy) : horizontale, verticale et les deux diagonales
+	 */
+	private static final int[][] LINE_DIRECTIONS = {{1, 0}, {0, 1}, {1, 1}, {1, -1}};
+
+	/**
+	 * Graine des valeurs de Zobrist, fixe pour que les clés soient identiques d'une exécution à l'autre
+	 */
+	private static final long ZOBRIST_SEED = 0x5EED_601C0L;
+
+	/**
+	 * Tables précalculées d'une taille de plateau (Zobrist, voisinages, géométrie des lignes),
+	 * construites une seule fois et partagées par tous les plateaux de cette taille
+	 */
+	private static final class Geometry
+	{
+		/**
+		 * Valeurs aléatoires de Zobrist, indexées par code de pièce puis par case.
+		 * La graine dépend de la taille pour que deux plateaux de tailles différentes n'aient pas les mêmes clés.
+		 */
+		final long[][] zobrist;
+
+		/**
+		 * Cases situées à au plus CANDIDATE_RADIUS d'une case donnée (la case elle-même exclue), indexées par case
+		 */
+		final int[][] neighborhood;
+
+		/**
+		 * Distance (diagonales comprises) entre chaque case et la case centrale
+		 */
+		final int[] centerDistance;
+
+		/**
+		 * Nombre de lignes du plateau assez longues pour contenir un alignement de 5 pièces
+		 * (lignes, colonnes et diagonales d'au moins 5 cases)
+		 */
+		final int lineCount;
+
+		/**
+		 * Ligne passant par chaque case dans chaque direction (-1 si la ligne est trop courte), et position de la case dans cette ligne
+		 */
+		final int[][] lineOfCell;
+		final int[][] positionInLine;
+
+		/**
+		 * Première case, pas entre deux cases consécutives, longueur et direction de chaque ligne
+		 */
+		final int[] lineStart;
+		final int[] lineStep;
+		final int[] lineLength;
+		final int[] lineDirection;
+
+		Geometry(int size)
+		{
+			int cellCount = size * size;
+
+			zobrist = new long[3][cellCount];
+			Random random = new Random(ZOBRIST_SEED + size);
+			for (int cell = 0; cell < cellCount; cell++)
+			{
+				zobrist[WHITE][cell] = random.nextLong();
+				zobrist[BLACK][cell] = random.nextLong();
+			}
+
+			neighborhood = new int[cellCount][];
+			for (int cell = 0; cell < cellCount; cell++)
+			{
+				int x = cell % size;
+				int y = cell / size;
+				int[] neighbors = new int[(2 * CANDIDATE_RADIUS + 1) * (2 * CANDIDATE_RADIUS + 1) - 1];
+				int count = 0;
+				for (int dy = -CANDIDATE_RADIUS; dy <= CANDIDATE_RADIUS; dy++)
+				{
+					for (int dx = -CANDIDATE_RADIUS; dx <= CANDIDATE_RADIUS; dx++)
+					{
+						if ((dx != 0 || dy != 0) && x + dx >= 0 && x + dx < size && y + dy >= 0 && y + dy < size)
+						{
+							neighbors[count++] = (y + dy) * size + x + dx;
+						}
+					}
+				}
+				neighborhood[cell] = Arrays.copyOf(neighbors, count);
+			}
+
+			centerDistance = new int[cellCount];
+			for (int cell = 0; cell < cellCount; cell++)
+			{
+				centerDistance[cell] = Math.max(Math.abs(cell % size - size / 2), Math.abs(cell / size - size / 2));
+			}
+
+			lineOfCell = new int[4][cellCount];
+			positionInLine = new int[4][cellCount];
+			int[] starts = new int[4 * cellCount];
+			int[] steps = new int[4 * cellCount];
+			int[] lengths = new int[4 * cellCount];
+			int[] directions = new int[4 * cellCount];
+			int count = 0;
+
+			for (int direction = 0; direction < 4; direction++)
+			{
+				int dx = LINE_DIRECTIONS[direction][0];
+				int dy = LINE_DIRECTIONS[direction][1];
+				Arrays.fill(lineOfCell[direction], -1);
+
+				for (int cell = 0; cell < cellCount; cell++)
+				{
+					int x = cell % size;
+					int y = cell / size;
+					int previousX = x - dx;
+					int previousY = y - dy;
+					if (previousX >= 0 && previousX < size && previousY >= 0 && previousY < size) continue; // Pas un début de ligne
+
+					int length = 0;
+					while (x + length * dx >= 0 && x + length * dx < size && y + length * dy >= 0 && y + length * dy < size) length++;
+					if (length < 5) continue;
+
+					for (int position = 0; position < length; position++)
+					{
+						int lineCell = (y + position * dy) * size + x + position * dx;
+						lineOfCell[direction][lineCell] = count;
+						positionInLine[direction][lineCell] = position;
+					}
+					starts[count] = cell;
+					steps[count] = dy * size + dx;
+					lengths[count] = length;
+					directions[count] = direction;
+					count++;
+				}
+			}
+
+			lineCount = count;
+			lineStart = Arrays.copyOf(starts, count);
+			lineStep = Arrays.copyOf(steps, count);
+			lineLength = Arrays.copyOf(lengths, count);
+			lineDirection = Arrays.copyOf(directions, count);
+		}
+	}
+
+	/**
+	 * Tables déjà construites, indexées par taille de plateau
+	 */
+	private static final Geometry[] GEOMETRIES = new Geometry[MAX_SIZE + 1];
+
+	private static Geometry geometryOf(int size)
+	{
+		synchronized (GEOMETRIES)
+		{
+			if (GEOMETRIES[size] == null) GEOMETRIES[size] = new Geometry(size);
+			return GEOMETRIES[size];
+		}
+	}
+
+	/**
+	 * Taille du plateau (nombre de lignes et de colonnes)
+	 */
+	private final int size;
+
+	/**
+	 * Tables de la taille du plateau, et copies des références utilisées à chaque coup
+	 * pour éviter une indirection dans {@link #setCell(int, byte)}
+	 */
+	private final Geometry geometry;
+	private final long[][] zobrist;
+	private final int[][] neighborhood;
+	private final int[][] lineOfCell;
+	private final int[][] positionInLine;
+
+	/**
+	 * Cases du plateau, indexées par {@code ligne * size + colonne}
+	 */
+	private final byte[] cells;
+
+	/**
+	 * Pile des cases jouées avec {@link #play(int, byte)}, pour pouvoir les annuler avec {@link #undo()}
+	 */
+	private final int[] moveStack;
+
+	/**
+	 * Nombre de coups présents dans la pile
+	 */
+	private int moveStackSize;
+
+	/**
+	 * Nombre de pièces posées sur le plateau
+	 */
+	private int stoneCount;
+
+	/**
+	 * Index de la dernière case jouée, -1 si aucune
+	 */
+	private int lastMove = -1;
+
+	/**
+	 * Clé de Zobrist de la position, tenue à jour à chaque modification de case
+	 */
+	private long zobristKey;
+
+	/**
+	 * Nombre de pièces situées à au plus CANDIDATE_RADIUS de chaque case
+	 */
+	private final int[] nearbyStones;
+
+	/**
+	 * Ensemble des cases candidates (vides et proches d'au moins une pièce) : les candidates occupent
+	 * les candidateCount premières cases de candidates, et candidatePositions donne la position de chaque case
+	 * dans ce tableau (-1 si elle n'est pas candidate), ce qui permet ajout et retrait en temps constant
+	 */
+	private final int[] candidates;
+	private final int[] candidatePositions;
+	private int candidateCount;
+
+	/**
+	 * Contenu de chaque ligne sous forme de masques de bits (bit i = i-ème case de la ligne), un par couleur
+	 */
+	private final int[] whiteLines;
+	private final int[] blackLines;
+
+	/**
+	 * Créer un plateau de Gomoku vide de taille DEFAULT_SIZE
+	 */
+	public GomokuBoard()
+	{
+		this(DEFAULT_SIZE);
+	}
+
+	/**
+	 * Créer un plateau de Gomoku vide
+	 *
+	 * @param size Nombre de lignes et de colonnes, de MIN_SIZE à MAX_SIZE
+	 * @throws IllegalArgumentException Si la taille n'est pas comprise entre MIN_SIZE et MAX_SIZE
+	 */
+	public GomokuBoard(int size)
+	{
+		super();
+		if (size < MIN_SIZE || size > MAX_SIZE)
+			throw new IllegalArgumentException("La taille du plateau doit être comprise entre " + MIN_SIZE + " et " + MAX_SIZE + " : " + size + ".");
+
+		this.size = size;
+		geometry = geometryOf(size);
+		zobrist = geometry.zobrist;
+		neighborhood = geometry.neighborhood;
+		lineOfCell = geometry.lineOfCell;
+		positionInLine = geometry.positionInLine;
+		cells = new byte[size * size];
+		moveStack = new int[size * size];
+		nearbyStones = new int[size * size];
+		candidates = new int[size * size];
+		candidatePositions = new int[size * size];
+		Arrays.fill(candidatePositions, -1);
+		whiteLines = new int[geometry.lineCount];
+		blackLines = new int[geometry.lineCount];
+	}
+
+	/**
+	 * Obtenir la taille du plateau
+	 *
+	 * @return Nombre de lignes et de colonnes
+	 */
+	public int getSize()
+	{
+		return size;
+	}
+
+	/**
+	 * Obtenir le nombre de cases du plateau
+	 *
+	 * @return size * size
+	 */
+	public int getCellCount()
+	{
+		return cells.length;
+	}
+
+	/**
+	 * Obtenir l'index d'une case dans le tableau des cases
+	 *
+	 * @param x Numéro de colonne
+	 * @param y Numéro de ligne
+	 * @return Index de la case
+	 */
+	public int index(int x, int y)
+	{
+		return y * size + x;
+	}
+
+	/**
+	 * Obtenir les coordonnées d'une case à partir de son index
+	 *
+	 * @param cell Index de la case
+	 * @return Coordonnées de la case
+	 */
+	public Coords toCoords(int cell)
+	{
+		return new Coords(cell % size, cell / size);
+	}
+
+	/**
+	 * Convertir un état de case en code de case
+	 *
+	 * @param tile Etat de la case
+	 * @return Code correspondant
+	 */
+	public static byte toCode(TileState tile)
+	{
+		return switch (tile)
+		{
+			case White -> WHITE;
+			case Black -> BLACK;
+			default -> EMPTY;
+		};
+	}
+
+	/**
+	 * Convertir un code de case en état de case
+	 *
+	 * @param code Code de la case
+	 * @return Etat correspondant
+	 */
+	public static TileState toTileState(byte code)
+	{
+		return TILE_STATES[code];
+	}
+
+	/**
+	 * Obtenir le code d'une case
+	 *
+	 * @param cell Index de la case
+	 * @return Code de la case (EMPTY, WHITE ou BLACK)
+	 */
+	public byte getCode(int cell)
+	{
+		return cells[cell];
+	}
+
+	@Override
+	public TileState get(int x, int y)
+	{
+		return TILE_STATES[cells[y * size + x]];
+	}
+
+	@Override
+	public void set(int x, int y, TileState value)
+	{
+		int cell = y * size + x;
+		byte code = toCode(value);
+		setCell(cell, code);
+
+		if (code != EMPTY) lastMove = cell;
+		else if (lastMove == cell) lastMove = -1;
+	}
+
+	/**
+	 * Modifier une case en tenant à jour le nombre de pièces posées et la clé de Zobrist
+	 *
+	 * @param cell Index de la case
+	 * @param code Nouveau code de la case
+	 */
+	private void setCell(int cell, byte code)
+	{
+		byte previous = cells[cell];
+		zobristKey ^= zobrist[previous][cell] ^ zobrist[code][cell]; // zobrist[EMPTY] ne contient que des 0
+		cells[cell] = code;
+
+		for (int direction = 0; direction < 4; direction++)
+		{ // Mettre à jour les masques des lignes passant par la case
+			int line = lineOfCell[direction][cell];
+			if (line == -1) continue;
+
+			int bit = 1 << positionInLine[direction][cell];
+			whiteLines[line] = (code == WHITE) ? whiteLines[line] | bit : whiteLines[line] & ~bit;
+			blackLines[line] = (code == BLACK) ? blackLines[line] | bit : blackLines[line] & ~bit;
+		}
+
+		if (previous == EMPTY && code != EMPTY)
+		{ // Une pièce apparaît : ses voisines vides deviennent candidates, la case ne l'est plus
+			stoneCount++;
+			for (int neighbor : neighborhood[cell])
+			{
+				if (nearbyStones[neighbor]++ == 0 && cells[neighbor] == EMPTY) addCandidate(neighbor);
+			}
+			removeCandidate(cell);
+		}
+		else if (previous != EMPTY && code == EMPTY)
+		{ // Une pièce disparaît : ses voisines qui ne sont plus proches d'aucune pièce ne sont plus candidates
+			stoneCount--;
+			for (int neighbor : neighborhood[cell])
+			{
+				if (--nearbyStones[neighbor] == 0) removeCandidate(neighbor);
+			}
+			if (nearbyStones[cell] > 0) addCandidate(cell);
+		}
+	}
+
+	private void addCandidate(int cell)
+	{
+		if (candidatePositions[cell] != -1) return;
+
+		candidatePositions[cell] = candidateCount;
+		candidates[candidateCount++] = cell;
+	}
+
+	private void removeCandidate(int cell)
+	{
+		int position = candidatePositions[cell];
+		if (position == -1) return;
+
+		// Remplacer la case retirée par la dernière candidate
+		int last = candidates[--candidateCount];
+		candidates[position] = last;
+		candidatePositions[last] = position;
+		candidatePositions[cell] = -1;
+	}
+
+	/**
+	 * Obtenir la ligne passant par une case dans une direction
+	 *
+	 * @param direction Index de la direction : 0 horizontale, 1 verticale, 2 et 3 diagonales
+	 * @param cell Index de la case
+	 * @return Index de la ligne, -1 si elle compte moins de 5 cases
+	 */
+	public int getLineOf(int direction, int cell)
+	{
+		return lineOfCell[direction][cell];
+	}
+
+	/**
+	 * Obtenir la position d'une case dans la ligne qui la traverse dans une direction
+	 *
+	 * @param direction Index de la direction : 0 horizontale, 1 verticale, 2 et 3 diagonales
+	 * @param cell Index de la case
+	 * @return Position de la case dans la ligne getLineOf(direction, cell)
+	 */
+	public int getPositionInLine(int direction, int cell)
+	{
+		return positionInLine[direction][cell];
+	}
+
+	/**
+	 * Obtenir la distance entre une case et la case centrale du plateau
+	 *
+	 * @param cell Index de la case
+	 * @return Plus grand écart en colonnes ou en lignes avec la case centrale
+	 */
+	public int getCenterDistance(int cell)
+	{
+		return geometry.centerDistance[cell];
+	}
+
+	/**
+	 * Obtenir le nombre de lignes du plateau assez longues pour contenir un alignement de 5 pièces
+	 *
+	 * @return Nombre de lignes, les lignes étant numérotées de 0 à getLineCount() - 1
+	 */
+	public int getLineCount()
+	{
+		return geometry.lineCount;
+	}
+
+	/**
+	 * Obtenir le nombre de cases d'une ligne
+	 *
+	 * @param line Index de la ligne
+	 * @return Longueur de la ligne
+	 */
+	public int getLineLength(int line)
+	{
+		return geometry.lineLength[line];
+	}
+
+	/**
+	 * Obtenir la direction d'une ligne
+	 *
+	 * @param line Index de la ligne
+	 * @return Index de la direction : 0 horizontale, 1 verticale, 2 et 3 diagonales
+	 */
+	public int getLineDirection(int line)
+	{
+		return geometry.lineDirection[line];
+	}
+
+	/**
+	 * Obtenir l'index de la case située à une position d'une ligne
+	 *
+	 * @param line Index de la ligne
+	 * @param position Position dans la ligne, à partir de 0
+	 * @return Index de la case
+	 */
+	public int getLineCell(int line, int position)
+	{
+		return geometry.lineStart[line] + position * geometry.lineStep[line];
+	}
+
+	/**
+	 * Obtenir le contenu d'une ligne pour une couleur
+	 *
+	 * @param line Index de la ligne
+	 * @param code Couleur (WHITE ou BLACK)
+	 * @return Masque de bits des cases de la ligne occupées par cette couleur
+	 */
+	public int getLineMask(int line, byte code)
+	{
+		return (code == WHITE) ? whiteLines[line] : blackLines[line];
+	}
+
+	/**
+	 * Obtenir le nombre de cases candidates : cases vides à au plus CANDIDATE_RADIUS d'une pièce
+	 *
+	 * @return Nombre de cases candidates
+	 */
+	public int getCandidateCount()
+	{
+		return candidateCount;
+	}
+
+	/**
+	 * Copier les index des cases candidates dans un tableau
+	 *
+	 * @param destination Tableau de destination, d'au moins getCandidateCount() cases
+	 * @return Nombre de cases candidates copiées
+	 */
+	public int getCandidates(int[] destination)
+	{
+		System.arraycopy(candidates, 0, destination, 0, candidateCount);
+		return candidateCount;
+	}
+
+	/**
+	 * Obtenir les coordonnées des cases candidates
+	 *
+	 * @return Coordonnées des cases vides à au plus CANDIDATE_RADIUS d'une pièce
+	 */
+	public Coords[] getCandidateMoves()
+	{
+		Coords[] moves = new Coords[candidateCount];
+		for (int i = 0; i < candidateCount; i++)
+		{
+			moves[i] = toCoords(candidates[i]);
+		}
+		return moves;
+	}
+
+	/**
+	 * Obtenir la clé de Zobrist de la position (indépendante de l'ordre dans lequel les pièces ont été posées)
+	 *
+	 * @return Clé de la position
+	 */
+	public long getZobristKey()
+	{
+		return zobristKey;
+	}
+
+	/**
+	 * Calculer la clé de Zobrist de l'image de la position par une symétrie du plateau
+	 *
+	 * @param symmetry Numéro de la symétrie, de 0 (identité) à SYMMETRY_COUNT - 1
+	 * @return Clé de la position transformée
+	 */
+	public long getZobristKey(int symmetry)
+	{
+		if (symmetry == 0) return zobristKey;
+
+		long key = 0;
+		for (int cell = 0; cell < cells.length; cell++)
+		{
+			if (cells[cell] != EMPTY) key ^= zobrist[cells[cell]][transform(symmetry, cell)];
+		}
+		return key;
+	}
+
+	/**
+	 * Appliquer une symétrie du plateau à une case.
+	 * Les 8 symétries du carré sont codées sur 3 bits : échange des axes (4), puis miroir horizontal (1) et vertical (2).
+	 *
+	 * @param symmetry Numéro de la symétrie, de 0 (identité) à SYMMETRY_COUNT - 1
+	 * @param cell Index de la case
+	 * @return Index de l'image de la case
+	 */
+	public int transform(int symmetry, int cell)
+	{
+		int x = cell % size;
+		int y = cell / size;
+		if ((symmetry & 4) != 0)
+		{
+			int swap = x;
+			x = y;
+			y = swap;
+		}
+		if ((symmetry & 1) != 0) x = size - 1 - x;
+		if ((symmetry & 2) != 0) y = size - 1 - y;
+		return index(x, y);
+	}
+
+	/**
+	 * Appliquer l'inverse d'une symétrie du plateau à une case
+	 *
+	 * @param symmetry Numéro de la symétrie, de 0 (identité) à SYMMETRY_COUNT - 1
+	 * @param cell Index de l'image de la case
+	 * @return Index de la case d'origine
+	 */
+	public int inverseTransform(int symmetry, int cell)
+	{
+		int x = cell % size;
+		int y = cell / size;
+		if ((symmetry & 1) != 0) x = size - 1 - x;
+		if ((symmetry & 2) != 0) y = size - 1 - y;
+		return (symmetry & 4) != 0 ? index(y, x) : index(x, y);
+	}
+
+	/**
+	 * Jouer un coup de manière réversible : la case est posée et empilée pour pouvoir être annulée avec {@link #undo()}
+	 *
+	 * @param move Coordonnées du coup
+	 * @param tile Pièce à poser
+	 * @throws IllegalArgumentException Si la case est déjà occupée
+	 */
+	public void play(Coords move, TileState tile)
+	{
+		play(index(move.column, move.row), toCode(tile));
+	}
+
+	/**
+	 * Jouer un coup de manière réversible
+	 *
+	 * @param cell Index de la case
+	 * @param code Code de la pièce à poser (WHITE ou BLACK)
+	 * @throws IllegalArgumentException Si la case est déjà occupée
+	 */
+	public void play(int cell, byte code)
+	{
+		if (cells[cell] != EMPTY)
+			throw new IllegalArgumentException("La case " + cell + " est déjà occupée.");
+
+		setCell(cell, code);
+		moveStack[moveStackSize++] = cell;
+		lastMove = cell;
+	}
+
+	/**
+	 * Annuler le dernier coup joué avec {@link #play(int, byte)}
+	 *
+	 * @throws IllegalStateException Si aucun coup n'est à annuler
+	 */
+	public void undo()
+	{
+		if (moveStackSize == 0)
+			throw new IllegalStateException("Aucun coup à annuler.");
+
+		setCell(moveStack[--moveStackSize], EMPTY);
+		lastMove = moveStackSize > 0 ? moveStack[moveStackSize - 1] : -1;
+	}
+
+	/**
+	 * Obtenir le nombre de pièces posées sur le plateau
+	 *
+	 * @return Nombre de pièces
+	 */
+	public int getStoneCount()
+	{
+		return stoneCount;
+	}
+
+	/**
+	 * Indiquer si le plateau est plein
+	 *
+	 * @return true si toutes les cases sont occupées, false sinon
+	 */
+	public boolean isFull()
+	{
+		return stoneCount == size * size;
+	}
+
+	/**
+	 * Obtenir les coordonnées de la dernière case jouée
+	 *
+	 * @return Coordonnées du dernier coup, indéfinies si aucun coup n'a été joué
+	 */
+	public Coords getLastMove()
+	{
+		if (lastMove == -1) return new Coords();
+		return toCoords(lastMove);
+	}
+
+	@Override
+	public int getWidth()
+	{
+		return size;
+	}
+
+	@Override
+	public int getHeight()
+	{
+		return size;
+	}
+
+	/**
+	 * Remplir le plateau de manière aléatoire
+	 *
+	 * @param whiteRatio Ratio de cases blanches
+	 * @param blackRatio Ratio de cases noires
+	 * @throws IllegalArgumentException Si la somme des ratios blancs et noirs dépasse 1
+	 */
+	public void randomize(double whiteRatio, double blackRatio)
+	{
+		if (whiteRatio + blackRatio > 1)
+			throw new IllegalArgumentException("La somme des ratios blancs et noirs ne peut pas dépasser 1.");
+
+		for (int y = 0; y < size; y++)
+		{
+			for (int x = 0; x < size; x++)
+			{
+				double random = Math.random();
+				if (random < whiteRatio) set(x, y, TileState.White);
+				else if (random < whiteRatio + blackRatio) set(x, y, TileState.Black);
+				else set(x, y, TileState.Empty);
+			}
+		}
+	}
+
+	/**
+	 * Obtenir l'état de fin de partie du plateau
+	 *
+	 * @return Etat de fin de partie
+	 */
+	public WinnerState getWinnerState()
+	{
+
+		// Liste des directions à tester pour trouver un alignement de 5 pièces
+		final int[][] DIRECTIONS_TO_CHECK = {
+				{-1, -1}, // Diagonales bas-gauche haut-droite
+				{-1, 0}, // Verticales
+				{-1, 1}, // Diagonales haut-gauche bas-droite
+				{0, 1} // Horizontales
+		};
+
+		byte currentCellState; // Alloue de la mémoire pour stocker l'état de la cellule testée
+		boolean isBoardFull = true; // Indique si le plateau est plein
+
+		for (int row = 0; row < size; row++)
+		{
+			for (int column = 0; column < size; column++)
+			{
+				currentCellState = cells[row * size + column];
+				if (currentCellState != EMPTY)
+				{ // Si la case n'est pas vide, chercher un alignement de 5 pièces dans toutes les directions
+					for (int[] direction : DIRECTIONS_TO_CHECK)
+					{
+						boolean hasCurrentPlayerWon = true;
+						for (int step = 1; step <= 4; step++)
+						{ // Pour chaque pas allant de 1 à 4
+							// Calculer les coordonnées de la cellule à tester
+							int currentRow = row + direction[0] * step;
+							int currentColumn = column + direction[1] * step;
+							if (!areCoordsValid(currentColumn, currentRow) || // Si le point est en dehors du plateau
+									cells[currentRow * size + currentColumn] != currentCellState)
+							{  // Ou si le point n'est pas occupé par le joueur testé
+								hasCurrentPlayerWon = false;
+								break; // Arrêter de tester cette direction
+							}
+						}
+						if (hasCurrentPlayerWon)
+						{ // Si un joueur a gagné, retourner sa couleur
+							return (currentCellState == BLACK) ? WinnerState.Black : WinnerState.White;
+						}
+					}
+				}
+				else
+				{ // Si la cellule est vide, le plateau n'est pas plein
+					isBoardFull = false;
+				}
+			}
+		}
+
+		if (isBoardFull) return WinnerState.Tie; // Si aucun joueur n'a gagné et que le plateau est plein, égalité
+		return WinnerState.None; // Si aucun joueur n'a gagné mais que le plateau n'est pas plein, la partie n'est pas finie
+	}
+
+	/**
+	 * Obtenir l'état de fin de partie en ne testant que les lignes passant par le dernier coup joué.
+	 * Un alignement de 5 pièces ne pouvant apparaître qu'à travers la pièce qui vient d'être posée,
+	 * ce test est équivalent à {@link #getWinnerState()} si la partie n'était pas finie avant ce coup.
+	 *
+	 * @param lastMove Coordonnées du dernier coup joué
+	 * @return Etat de fin de partie
+	 */
+	public WinnerState getWinnerStateAfter(Coords lastMove)
+	{
+		return getWinnerStateAfter(index(lastMove.column, lastMove.row));
+	}
+
+	/**
+	 * Obtenir l'état de fin de partie en ne testant que les lignes passant par le dernier coup joué
+	 *
+	 * @param cell Index de la case du dernier coup joué
+	 * @return Etat de fin de partie
+	 */
+	public WinnerState getWinnerStateAfter(int cell)
+	{
+		if (isWinningMove(cell)) return (cells[cell] == BLACK) ? WinnerState.Black : WinnerState.White;
+		if (isFull()) return WinnerState.Tie;
+		return WinnerState.None;
+	}
+
+	/**
+	 * Indiquer si la pièce posée sur une case forme un alignement d'au moins 5 pièces
+	 *
+	 * @param cell Index de la case
+	 * @return true si la pièce de la case fait partie d'un alignement gagnant, false sinon
+	 */
+	public boolean isWinningMove(int cell)
+	{
+		byte code = cells[cell];
+		if (code == EMPTY) return false;
+
+		int x = cell % size;
+		int y = cell / size;
+		for (int[] direction : LINE_DIRECTIONS)
+		{ // Compter les pièces alignées de part et d'autre de la case
+			int count = 1 + countAligned(x, y, direction[0], direction[1], code) + countAligned(x, y, -direction[0], -direction[1], code);
+			if (count >= 5) return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Compter les pièces d'une couleur alignées de part et d'autre d'une case (exclue), jusqu'à 4 de chaque côté
+	 *
+	 * @param cell Index de la case
+	 * @param direction Index de la direction : 0 horizontale, 1 verticale, 2 et 3 diagonales
+	 * @param code Code de la couleur comptée
+	 * @return Nombre de pièces consécutives de cette couleur touchant la case dans cette direction
+	 */
+	public int countAligned(int cell, int direction, byte code)
+	{
+		int x = cell % size;
+		int y = cell / size;
+		int[] d = LINE_DIRECTIONS[direction];
+		return countAligned(x, y, d[0], d[1], code) + countAligned(x, y, -d[0], -d[1], code);
+	}
+
+	/**
+	 * Compter les pièces consécutives d'une couleur à partir d'une case (exclue), dans une direction, jusqu'à 4
+	 */
+	private int countAligned(int x, int y, int dx, int dy, byte code)
+	{
+		int count = 0;
+		x += dx;
+		y += dy;
+		while (count < 4 && x >= 0 && x < size && y >= 0 && y < size && cells[y * size + x] == code)
+		{
+			count++;
+			x += dx;
+			y += dy;
+		}
+		return count;
+	}
+
+	@Override
+	public void print()
+	{
+		System.out.print("   ");
+		for (int i = 0; i < size; i++)
+		{
+			System.out.print(String.format("%02d ", i)); // Afficher le numéro des colonnes
+		}
+		System.out.println();
+
+		Coords currentCellCoords = new Coords();
+
+		for (currentCellCoords.row = 0; currentCellCoords.row < size; currentCellCoords.row++)
+		{
+			System.out.print(String.format("%02d ", currentCellCoords.row)); // Afficher le numéro de la ligne
+
+			for (currentCellCoords.column = 0; currentCellCoords.column < size; currentCellCoords.column++)
+			{
+				switch (get(currentCellCoords))
+				{ // Afficher le caractère correspondant à l'état de chaque cellule
+					case White:
+						System.out.print("W  ");  // ■
+						break;
+					case Black:
+						System.out.print("B  ");  // □
+						break;
+					default:
+						System.out.print("-  ");  // •
+				}
+			}
+
+			System.out.println();
+		}
+	}
+
+	@Override
+	public GomokuBoard clone()
+	{
+		GomokuBoard clone = new GomokuBoard(size);
+		System.arraycopy(cells, 0, clone.cells, 0, cells.length);
+		System.arraycopy(moveStack, 0, clone.moveStack, 0, moveStackSize);
+		clone.moveStackSize = moveStackSize;
+		clone.stoneCount = stoneCount;
+		clone.lastMove = lastMove;
+		clone.zobristKey = zobristKey;
+		System.arraycopy(nearbyStones, 0, clone.nearbyStones, 0, nearbyStones.length);
+		System.arraycopy(candidates, 0, clone.candidates, 0, candidateCount);
+		System.arraycopy(candidatePositions, 0, clone.candidatePositions, 0, candidatePositions.length);
+		clone.candidateCount = candidateCount;
+		System.arraycopy(whiteLines, 0, clone.whiteLines, 0, whiteLines.length);
+		System.arraycopy(blackLines, 0, clone.blackLines, 0, blackLines.length);
+
+		return clone;
+	}
+
+	public ArrayList<Array2D> findPositionInBoard()
+	{
+		ArrayList<Array2D> list = new ArrayList<Array2D>();
+
+		for (int row = 0; row < size; row++)
+		{
+			for (int column = 0; column < size; column++)
+			{
+				if (!get(column, row).equals(TileState.Empty))
+				{
+					list.add(new Array2D(column, row));
+				}
+			}
+		}
+		return list;
+	}
+}
+
@@ -1,11 +1,11 @@
-package gamecore.enums;
-
-/**Liste des joueurs*/
-public enum Player{
-    /**Joueur blanc*/
-    White,
-
-    /**Joueur noir*/
-    Black
-}
-
+package gamecore.enums;
+
+/**Liste des joueurs*/
+public enum Player{
+    /**Joueur blanc*/
+    White,
+
+    /**Joueur noir*/
+    Black
+}
+
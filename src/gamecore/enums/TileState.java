@@ -1,13 +1,13 @@
-package gamecore.enums;
-
-/**Liste des états possibles pour une case du plateau de jeu*/
-public enum TileState{
-    /**Case occupée par une pièce blanche */
-    White,
-
-    /**Case occupée par une pièce noire */
-    Black,
-
-    /**Case vide */
-    Empty
-}
+package gamecore.enums;
+
+/**Liste des états possibles pour une case du plateau de jeu*/
+public enum TileState{
+    /**Case occupée par une pièce blanche */
+    White,
+
+    /**Case occupée par une pièce noire */
+    Black,
+
+    /**Case vide */
+    Empty
+}